@@ -0,0 +1,40 @@
+// Teste de carga do agendamento com k6: k6 run -e TOKEN=... -e VUS=400 carga/agendar.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8080';
+const PACIENTES = Number(__ENV.PACIENTES || 1000);
+
+export const options = {
+    vus: Number(__ENV.VUS || 400),
+    duration: __ENV.DURACAO || '60s',
+    thresholds: { http_req_failed: ['rate<0.01'] },
+};
+
+function proximoDiaUtil(dias) {
+    const data = new Date();
+    data.setDate(data.getDate() + dias);
+    while (data.getDay() === 0) {
+        data.setDate(data.getDate() + 1);
+    }
+    return data;
+}
+
+export default function () {
+    const parametros = { headers: { 'Content-Type': 'application/json', Authorization: `Bearer ${__ENV.TOKEN}` } };
+
+    // Mistura leitura e escrita: a listagem tem o maior volume, o agendamento o maior custo
+    const listagem = http.get(`${BASE}/consultas?size=10`, parametros);
+    check(listagem, { 'listagem 200': r => r.status === 200 });
+
+    const data = proximoDiaUtil(1 + (__ITER % 60));
+    data.setHours(7 + (__VU % 11), 0, 0, 0);
+    const corpo = JSON.stringify({
+        idPaciente: 1 + ((__VU * 131 + __ITER) % PACIENTES),
+        data: data.toISOString().slice(0, 19),
+        especialidade: 'CARDIOLOGIA',
+    });
+    const agendamento = http.post(`${BASE}/consultas`, corpo, parametros);
+    // 400 é esperado quando o paciente já tem consulta no dia ou não há médico livre
+    check(agendamento, { 'agendamento respondeu': r => r.status === 200 || r.status === 400 });
+}
@@ -0,0 +1,99 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.ApiApplication;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.repository.MedicoRepository;
+import med.voll.api.repository.PacienteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Agendamento completo contra o banco do profile "test" (MySQL local, ver application-test.properties).
+ * Cada invocação roda em uma transação desfeita ao final, então o mesmo horário pode ser
+ * agendado repetidamente sem acumular consultas nem ocupar o índice em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgendaDeConsultasBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AgendaDeConsultas agendaDeConsultas;
+    private TransactionTemplate transactionTemplate;
+    private DadosAgendamentoConsulta comMedico;
+    private DadosAgendamentoConsulta porEspecialidade;
+
+    @Setup
+    public void preparar() {
+        var aplicacao = new SpringApplication(ApiApplication.class);
+        aplicacao.setWebApplicationType(WebApplicationType.NONE);
+        aplicacao.setAdditionalProfiles("test");
+        context = aplicacao.run();
+
+        agendaDeConsultas = context.getBean(AgendaDeConsultas.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        var sufixo = String.valueOf(ThreadLocalRandom.current().nextInt(1000, 9999));
+        var endereco = new DadosEndereco("rua xpto", "bairro", "00000000", "Brasilia", "DF", null, null);
+        var medico = context.getBean(MedicoRepository.class).save(new Medico(new DadosCadastroMedico(
+                "Medico benchmark", "medico" + sufixo + "@voll.med", "61999999999", "99" + sufixo,
+                Especialidade.DERMATOLOGIA, endereco)));
+        var paciente = context.getBean(PacienteRepository.class).save(new Paciente(new DadosCadastroPaciente(
+                "Paciente benchmark", "paciente" + sufixo + "@voll.med", "61999999999", "000000" + sufixo + "0",
+                endereco)));
+
+        var proximaSegundaAs10 = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(10, 0);
+        comMedico = new DadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10, null);
+        porEspecialidade = new DadosAgendamentoConsulta(null, paciente.getId(), proximaSegundaAs10, Especialidade.DERMATOLOGIA);
+    }
+
+    @TearDown
+    public void encerrar() {
+        context.close();
+    }
+
+    @Benchmark
+    public DadosDetalhamentoConsulta agendarComMedico() {
+        return agendarEDesfazer(comMedico);
+    }
+
+    @Benchmark
+    public DadosDetalhamentoConsulta agendarPorEspecialidade() {
+        return agendarEDesfazer(porEspecialidade);
+    }
+
+    private DadosDetalhamentoConsulta agendarEDesfazer(DadosAgendamentoConsulta dados) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return agendaDeConsultas.agendar(dados);
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package med.voll.api.domain.consulta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListagemBenchmark {
+
+    private static final int TAMANHO_DA_PAGINA = 10;
+
+    private List<Consulta> consultas;
+    private Page<DadosListagemMedico> paginaDeMedicos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        var endereco = new DadosEndereco("rua xpto", "bairro", "00000000", "Brasilia", "DF", null, null);
+        consultas = new ArrayList<>();
+        var medicos = new ArrayList<DadosListagemMedico>();
+        for (long i = 1; i <= TAMANHO_DA_PAGINA; i++) {
+            var medico = new Medico(new DadosCadastroMedico("Medico " + i, "medico" + i + "@voll.med", "61999999999",
+                    String.valueOf(100000 + i), Especialidade.CARDIOLOGIA, endereco));
+            medico.setId(i);
+            var paciente = new Paciente(new DadosCadastroPaciente("Paciente " + i, "paciente" + i + "@voll.med",
+                    "61999999999", "00000000000", endereco));
+            consultas.add(new Consulta(i, medico, paciente, LocalDateTime.now().plusDays(i), null));
+            medicos.add(new DadosListagemMedico(medico));
+        }
+        paginaDeMedicos = new PageImpl<>(medicos, PageRequest.of(0, TAMANHO_DA_PAGINA), 1000);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<DadosListagemConsulta> mapearConsultas() {
+        return consultas.stream().map(DadosListagemConsulta::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaDeMedicos() throws Exception {
+        return objectMapper.writeValueAsBytes(paginaDeMedicos);
+    }
+}
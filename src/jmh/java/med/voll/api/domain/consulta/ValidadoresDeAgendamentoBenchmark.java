@@ -0,0 +1,75 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorAgendamentoDeConsultas;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorHorarioAntecedencia;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorHorarioFuncionamentoClinica;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorMedicoAtivo;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorMedicoComOutraConsultaNoMesmoHorario;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorPacienteAtivo;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorPacienteSemOutraConsultaNoDia;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cadeia completa de validadores com o contexto já carregado, isto é, sem o custo do banco
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidadoresDeAgendamentoBenchmark {
+
+    private List<ValidadorAgendamentoDeConsultas> validadores;
+    private ContextoDeAgendamento contexto;
+    private DadosAgendamentoConsulta dados;
+
+    @Setup
+    public void preparar() {
+        validadores = List.of(
+                new ValidadorHorarioAntecedencia(),
+                new ValidadorHorarioFuncionamentoClinica(),
+                new ValidadorMedicoAtivo(),
+                new ValidadorMedicoComOutraConsultaNoMesmoHorario(),
+                new ValidadorPacienteAtivo(),
+                new ValidadorPacienteSemOutraConsultaNoDia());
+
+        var endereco = new DadosEndereco("rua xpto", "bairro", "00000000", "Brasilia", "DF", null, null);
+        var medico = new Medico(new DadosCadastroMedico("Medico", "medico@voll.med", "61999999999", "123456",
+                Especialidade.CARDIOLOGIA, endereco));
+        var paciente = new Paciente(new DadosCadastroPaciente("Paciente", "paciente@voll.med", "61999999999",
+                "00000000000", endereco));
+        contexto = new ContextoDeAgendamento(Map.of(1L, paciente), Map.of(1L, medico), new OcupacaoDeHorarios());
+
+        var proximaSegundaAs10 = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(10, 0);
+        dados = new DadosAgendamentoConsulta(1L, 1L, proximaSegundaAs10, Especialidade.CARDIOLOGIA);
+    }
+
+    @Benchmark
+    public DadosAgendamentoConsulta validar() {
+        for (var validador : validadores) {
+            validador.validar(dados, contexto);
+        }
+        return dados;
+    }
+}
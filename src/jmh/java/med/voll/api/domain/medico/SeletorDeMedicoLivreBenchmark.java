@@ -0,0 +1,74 @@
+package med.voll.api.domain.medico;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+/*
+ * Compara o sorteio em memória com o custo do que a query "order by rand() limit 1"
+ * faz para cada agendamento: percorrer todos os médicos da especialidade, descartar
+ * os ocupados e ordenar o restante por uma chave aleatória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeletorDeMedicoLivreBenchmark {
+
+    @Param({"100", "5000"})
+    private int medicos;
+
+    @Param({"0.1", "0.9"})
+    private double fracaoOcupada;
+
+    private SeletorDeMedicoLivre seletor;
+    private long[] ids;
+    private Set<Long> ocupados;
+
+    @Setup
+    public void preparar() {
+        seletor = new SeletorDeMedicoLivre();
+        ids = LongStream.rangeClosed(1, medicos).toArray();
+        ocupados = new HashSet<>();
+        for (long id : ids) {
+            seletor.adicionar(id, Especialidade.CARDIOLOGIA);
+            if (id <= medicos * fracaoOcupada) {
+                ocupados.add(id);
+            }
+        }
+    }
+
+    @Benchmark
+    public Long seletorEmMemoria() {
+        return seletor.sortear(Especialidade.CARDIOLOGIA, ocupados);
+    }
+
+    @Benchmark
+    public Long varreduraComOrdenacaoAleatoria() {
+        var random = ThreadLocalRandom.current();
+        return LongStream.of(ids)
+                .filter(id -> !ocupados.contains(id))
+                .boxed()
+                .map(id -> new long[]{id, random.nextLong()})
+                .sorted(Comparator.comparingLong(par -> par[1]))
+                .map(par -> par[0])
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,122 @@
+package med.voll.api.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import med.voll.api.domain.usuario.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Os métodos "comoAntes" reproduzem a implementação original do TokenService (Algorithm e verifier
+ * criados a cada chamada, expiração via LocalDateTime/ZoneOffset), para comparar na mesma execução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "segredo-do-benchmark";
+    private static final String ISSUER = "API Voll.med";
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+    private String tokenChaveAnterior;
+    private String tokenExpirado;
+
+    @Setup
+    public void preparar() {
+        usuario = new Usuario(1L, "usuario@voll.med", "senha");
+
+        tokenChaveAnterior = novoTokenService("0", "segredo-anterior", "", Duration.ofMinutes(15)).gerarToken(usuario);
+        tokenExpirado = novoTokenService("1", SECRET, "", Duration.ofMinutes(-1)).gerarToken(usuario);
+
+        tokenService = novoTokenService("1", SECRET, "0:segredo-anterior", Duration.ofMinutes(15));
+        token = tokenService.gerarToken(usuario);
+    }
+
+    private TokenService novoTokenService(String kid, String secret, String chavesAnteriores, Duration validade) {
+        var servico = new TokenService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(servico, "secret", secret);
+        ReflectionTestUtils.setField(servico, "kid", kid);
+        ReflectionTestUtils.setField(servico, "chavesAnteriores", chavesAnteriores);
+        ReflectionTestUtils.setField(servico, "validade", validade);
+        servico.inicializar();
+        return servico;
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarTokenComoAntes() {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject(usuario.getLogin())
+                .withClaim("id", usuario.getId())
+                .withExpiresAt(LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00")))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return tokenService.getSubject(token);
+    }
+
+    @Benchmark
+    public String getSubjectComoAntes() {
+        return getSubjectComoAntesDe(token);
+    }
+
+    @Benchmark
+    public String getSubjectChaveAnterior() {
+        return tokenService.getSubject(tokenChaveAnterior);
+    }
+
+    // Rejeitado pelo caminho rápido, sem calcular o HMAC
+    @Benchmark
+    public String rejeitarTokenExpirado() {
+        try {
+            return tokenService.getSubject(tokenExpirado);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String rejeitarTokenExpiradoComoAntes() {
+        try {
+            return getSubjectComoAntesDe(tokenExpirado);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String getSubjectComoAntesDe(String tokenJWT) {
+        return JWT.require(Algorithm.HMAC256(SECRET))
+                .withIssuer(ISSUER)
+                .build()
+                .verify(tokenJWT)
+                .getSubject();
+    }
+}
@@ -0,0 +1,117 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.StringJoiner;
+
+/*
+ * Particiona consultas por mês de "data" (RANGE COLUMNS). Em Java porque as partições dependem
+ * dos dados já existentes: uma por mês desde a consulta mais antiga até alguns meses à frente,
+ * mais a "pfuturo". Depois disso, ParticionamentoDeConsultas cria as próximas e arquiva as antigas.
+ *
+ * Restrições do MySQL para tabelas particionadas:
+ * - não há chaves estrangeiras, então as de médico e paciente são removidas;
+ * - toda chave única precisa conter "data": a chave primária passa a ser (id, data) e o
+ *   "um agendamento por paciente por dia" (que não contém "data") passa para consultas_pacientes_dia,
+ *   mantida por triggers na mesma transação do insert/update.
+ */
+public class V15__ParticionarConsultasPorMes extends BaseJavaMigration {
+
+    private static final int MESES_A_FRENTE = 3;
+    private static final DateTimeFormatter NOME_DA_PARTICAO = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (var statement = context.getConnection().createStatement()) {
+            statement.execute("alter table consultas drop foreign key fk_consultas_medico_id, drop foreign key fk_consultas_paciente_id");
+
+            statement.execute("""
+                    create table consultas_pacientes_dia(
+                        paciente_id bigint not null,
+                        dia date not null,
+                        consulta_id bigint not null,
+
+                        primary key(paciente_id, dia)
+                    )
+                    """);
+            statement.execute("""
+                    insert into consultas_pacientes_dia (paciente_id, dia, consulta_id)
+                    select paciente_id, dia_ativo, id from consultas where dia_ativo is not null
+                    """);
+            statement.execute("alter table consultas drop index uk_consultas_paciente_dia_ativa, drop column dia_ativo");
+            criarTriggers(statement);
+
+            statement.execute("alter table consultas drop primary key, add primary key(id, data)");
+            statement.execute("alter table consultas partition by range columns(data) (" + particoes(statement) + ")");
+
+            statement.execute("""
+                    create table consultas_arquivo(
+                        id bigint not null,
+                        medico_id bigint not null,
+                        paciente_id bigint not null,
+                        data datetime not null,
+                        motivo_cancelamento varchar(100),
+                        arquivada_em datetime not null,
+
+                        primary key(id),
+                        index idx_consultas_arquivo_data(data)
+                    )
+                    """);
+        }
+    }
+
+    private void criarTriggers(Statement statement) throws Exception {
+        statement.execute("""
+                create trigger trg_consultas_pacientes_dia_insert after insert on consultas for each row
+                begin
+                    if new.motivo_cancelamento is null then
+                        insert into consultas_pacientes_dia (paciente_id, dia, consulta_id) values (new.paciente_id, date(new.data), new.id);
+                    end if;
+                end
+                """);
+        statement.execute("""
+                create trigger trg_consultas_pacientes_dia_update after update on consultas for each row
+                begin
+                    if old.motivo_cancelamento is null then
+                        delete from consultas_pacientes_dia where paciente_id = old.paciente_id and dia = date(old.data) and consulta_id = old.id;
+                    end if;
+                    if new.motivo_cancelamento is null then
+                        insert into consultas_pacientes_dia (paciente_id, dia, consulta_id) values (new.paciente_id, date(new.data), new.id);
+                    end if;
+                end
+                """);
+        statement.execute("""
+                create trigger trg_consultas_pacientes_dia_delete after delete on consultas for each row
+                begin
+                    delete from consultas_pacientes_dia where paciente_id = old.paciente_id and dia = date(old.data) and consulta_id = old.id;
+                end
+                """);
+    }
+
+    private String particoes(Statement statement) throws Exception {
+        var ultimo = YearMonth.now().plusMonths(MESES_A_FRENTE);
+        var mes = ultimo;
+        try (var resultado = statement.executeQuery("select min(data) from consultas")) {
+            if (resultado.next() && resultado.getObject(1) != null) {
+                var maisAntigo = YearMonth.from(resultado.getTimestamp(1).toLocalDateTime());
+                mes = maisAntigo.isBefore(mes) ? maisAntigo : mes;
+            }
+        }
+
+        var particoes = new StringJoiner(", ");
+        for (; !mes.isAfter(ultimo); mes = mes.plusMonths(1)) {
+            particoes.add("partition %s values less than ('%s')".formatted(mes.format(NOME_DA_PARTICAO), limite(mes)));
+        }
+        particoes.add("partition pfuturo values less than (maxvalue)");
+        return particoes.toString();
+    }
+
+    private static LocalDate limite(YearMonth mes) {
+        return mes.plusMonths(1).atDay(1);
+    }
+}
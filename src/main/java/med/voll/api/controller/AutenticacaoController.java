@@ -2,19 +2,24 @@ package med.voll.api.controller;
 
 import jakarta.validation.Valid;
 import med.voll.api.domain.usuario.DadosAutenticacao;
+import med.voll.api.domain.usuario.DadosRefreshToken;
 import med.voll.api.domain.usuario.Usuario;
-import med.voll.api.infra.security.TokenService;
+import med.voll.api.infra.security.ExecutorDeLogin;
+import med.voll.api.infra.security.GerenciadorDeRefreshTokens;
 import med.voll.api.security.DadosTokenJWT;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/login")
 public class AutenticacaoController {
@@ -23,13 +28,31 @@ public class AutenticacaoController {
     private AuthenticationManager manager;
 
     @Autowired
-    private TokenService tokenService;
+    private GerenciadorDeRefreshTokens gerenciadorDeRefreshTokens;
+
+    @Autowired
+    private ExecutorDeLogin executorDeLogin;
+
+    // A verificação do BCrypt roda no ExecutorDeLogin; a thread do Tomcat é liberada enquanto isso
     @PostMapping
-    public ResponseEntity<DadosTokenJWT> efetuarLogin(@RequestBody @Valid DadosAutenticacao dados){
-        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(dados.login(), dados.senha());
-        Authentication autheticate = manager.authenticate(token);
+    public CompletableFuture<ResponseEntity<DadosTokenJWT>> efetuarLogin(@RequestBody @Valid DadosAutenticacao dados){
+        return executorDeLogin.executar(() -> {
+            UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(dados.login(), dados.senha());
+            Authentication autheticate = manager.authenticate(token);
+
+            return ResponseEntity.ok(gerenciadorDeRefreshTokens.autenticar((Usuario) autheticate.getPrincipal()));
+        });
+    }
+
+    // Renova o access token sem senha: não passa pelo BCrypt nem pelo ExecutorDeLogin
+    @PostMapping("/refresh")
+    public ResponseEntity<DadosTokenJWT> renovar(@RequestBody @Valid DadosRefreshToken dados){
+        return ResponseEntity.ok(gerenciadorDeRefreshTokens.renovar(dados.refreshToken()));
+    }
 
-        String tokenJWT = tokenService.gerarToken((Usuario) autheticate.getPrincipal());
-        return ResponseEntity.ok(new DadosTokenJWT(tokenJWT));
+    @DeleteMapping("/refresh")
+    public ResponseEntity revogar(@RequestBody @Valid DadosRefreshToken dados){
+        gerenciadorDeRefreshTokens.revogar(dados.refreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
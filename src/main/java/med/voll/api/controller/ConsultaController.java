@@ -3,48 +3,139 @@ package med.voll.api.controller;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import med.voll.api.domain.consulta.AgendaDeConsultas;
+import med.voll.api.domain.consulta.AgendamentoEmLote;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.DadosAgendamentoLote;
 import med.voll.api.domain.consulta.DadosCancelamentoConsulta;
+import med.voll.api.domain.consulta.DadosEstatisticasConsultas;
 import med.voll.api.domain.consulta.DadosListagemConsulta;
-import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.consulta.DadosResultadoAgendamentoLote;
+import med.voll.api.domain.consulta.EstatisticasDeConsultas;
+import med.voll.api.domain.consulta.ExportacaoDeConsultas;
+import med.voll.api.domain.consulta.enums.AgrupamentoEstatisticas;
+import med.voll.api.domain.consulta.enums.FormatoExportacao;
+import med.voll.api.domain.exception.ValidacaoException;
+import med.voll.api.infra.paginacao.Cursor;
+import med.voll.api.infra.paginacao.DadosPaginaCursor;
 import med.voll.api.repository.ConsultaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("consultas")
 @SecurityRequirement(name = "bearer-key")
 public class ConsultaController {
 
+    private static final Logger log = LoggerFactory.getLogger(ConsultaController.class);
+
     @Autowired
     private AgendaDeConsultas agendaDeConsultas;
 
+    @Autowired
+    private AgendamentoEmLote agendamentoEmLote;
+
     @Autowired
     private ConsultaRepository consultaRepository;
 
+    @Autowired
+    private ExportacaoDeConsultas exportacaoDeConsultas;
+
+    @Autowired
+    private EstatisticasDeConsultas estatisticasDeConsultas;
+
     @PostMapping
     @Transactional
     public ResponseEntity<?> agendar(@RequestBody @Valid DadosAgendamentoConsulta dados){
-        System.out.println(dados);
         //return ResponseEntity.ok(new DadosDetalhamentoConsulta(null, null, null, null));
         var dto = agendaDeConsultas.agendar(dados);
+        log.atInfo()
+                .setMessage("consulta agendada")
+                .addKeyValue("idConsulta", dto.id())
+                .addKeyValue("idMedico", dto.idMedico())
+                .addKeyValue("idPaciente", dto.idPaciente())
+                .addKeyValue("data", dto.data())
+                .log();
         return ResponseEntity.ok(dto);
     }
 
+    @PostMapping("/lote")
+    @Transactional
+    public ResponseEntity<List<DadosResultadoAgendamentoLote>> agendarLote(@RequestBody @Valid DadosAgendamentoLote dados){
+        return ResponseEntity.ok(agendamentoEmLote.agendar(dados));
+    }
+
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<Page<DadosListagemConsulta>> listar(
             @PageableDefault(size = 10) Pageable paginacao
     ){
-        Page<DadosListagemConsulta> page = consultaRepository
-                .findAll(paginacao).map(DadosListagemConsulta::new);
+        Page<DadosListagemConsulta> page = consultaRepository.listar(paginacao);
         return ResponseEntity.ok(page);
     }
 
+    @GetMapping("/cursor")
+    @Transactional(readOnly = true)
+    public ResponseEntity<DadosPaginaCursor<DadosListagemConsulta>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int tamanho
+    ){
+        var limite = DadosPaginaCursor.limite(tamanho);
+        List<DadosListagemConsulta> consultas;
+        if (cursor == null) {
+            consultas = consultaRepository.listarPrimeirasPorData(limite);
+        } else {
+            var posicao = Cursor.decodificar(cursor, LocalDateTime::parse);
+            consultas = consultaRepository.listarPorDataApos(posicao.chave(), posicao.id(), limite);
+        }
+        return ResponseEntity.ok(DadosPaginaCursor.de(consultas, tamanho, c -> Cursor.codificar(c.data(), c.id())));
+    }
+
+    // Exporta todas as consultas do período (datas inclusivas) em NDJSON ou CSV, escrevendo enquanto lê do banco
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "ndjson") String formato
+    ){
+        if (de != null && ate != null && ate.isBefore(de)) {
+            throw new ValidacaoException("A data final não pode ser anterior à inicial");
+        }
+        var formatoExportacao = FormatoExportacao.de(formato);
+        var inicio = de == null ? null : de.atStartOfDay();
+        var fim = ate == null ? null : ate.plusDays(1).atStartOfDay();
+
+        StreamingResponseBody corpo = saida -> exportacaoDeConsultas.exportar(formatoExportacao, inicio, fim, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacao.getTipoDeConteudo()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=consultas." + formatoExportacao.getExtensao())
+                .body(corpo);
+    }
+
+    // Agendadas e canceladas por motivo no período (datas inclusivas), por dia, médico ou especialidade
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<DadosEstatisticasConsultas>> estatisticas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "dia") String agrupamento
+    ){
+        return ResponseEntity.ok(estatisticasDeConsultas.consultar(AgrupamentoEstatisticas.de(agrupamento), de, ate));
+    }
+
     @DeleteMapping
     @Transactional
     public ResponseEntity cancelar(@RequestBody @Valid DadosCancelamentoConsulta dadosCancelamentoConsulta) {
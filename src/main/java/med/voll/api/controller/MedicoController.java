@@ -6,8 +6,10 @@ import med.voll.api.domain.medico.Medico;
 import med.voll.api.domain.medico.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,12 +19,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.infra.http.Etag;
+import med.voll.api.infra.paginacao.Cursor;
+import med.voll.api.infra.paginacao.DadosPaginaCursor;
 import med.voll.api.repository.MedicoRepository;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/medicos")
 @SecurityRequirement(name = "bearer-key")
@@ -30,6 +41,9 @@ public class MedicoController {
 
     @Autowired
     private MedicoRepository repository;
+
+    @Autowired
+    private BuscaDeDisponibilidade buscaDeDisponibilidade;
     
     @PostMapping
     @Transactional
@@ -48,16 +62,51 @@ public class MedicoController {
      * repository.findAll().stream().map(DadosListagemMedico::new).toList(); }
      */
     
+    // Somente leitura: vai para a réplica, e o ETag e a página saem do mesmo snapshot
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<Page<DadosListagemMedico>> listar(
-            @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao
+            @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao,
+            WebRequest request
     ){
+        // Se nada mudou na página, responde 304 sem carregar os médicos (a query de versões só lê o índice)
+        var versoes = repository.buscarVersoesDosAtivos(paginacao);
+        if (request.checkNotModified(Etag.dePagina(versoes))) {
+            return null;
+        }
         //return repository.findAll(paginacao).map(DadosListagemMedico::new);
         //return repository.findAllByAtivoTrue(paginacao).map(DadosListagemMedico::new);
-        var page = repository.findAllByAtivoTrue(paginacao).map(DadosListagemMedico::new);
-        return ResponseEntity.ok(page);
+        var linhas = new PageImpl<>(repository.listarAtivosComVersao(paginacao), paginacao, versoes.getTotalElements());
+        var etag = Etag.dePagina(linhas.map(DadosListagemMedicoComVersao::versaoDoRegistro));
+        return ResponseEntity.ok().eTag(etag).body(linhas.map(DadosListagemMedicoComVersao::dados));
+    }
+
+    @GetMapping("/cursor")
+    @Transactional(readOnly = true)
+    public ResponseEntity<DadosPaginaCursor<DadosListagemMedico>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int tamanho
+    ){
+        var limite = DadosPaginaCursor.limite(tamanho);
+        List<DadosListagemMedico> medicos;
+        if (cursor == null) {
+            medicos = repository.listarPrimeirosAtivosPorNome(limite);
+        } else {
+            var posicao = Cursor.decodificar(cursor, nome -> nome);
+            medicos = repository.listarAtivosPorNomeApos(posicao.chave(), posicao.id(), limite);
+        }
+        return ResponseEntity.ok(DadosPaginaCursor.de(medicos, tamanho, m -> Cursor.codificar(m.nome(), m.id())));
     }
     
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<List<DadosDisponibilidadeMedico>> disponibilidade(
+            @RequestParam Especialidade especialidade,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate
+    ){
+        return ResponseEntity.ok(buscaDeDisponibilidade.buscar(especialidade, de, ate));
+    }
+
     @PutMapping
     @Transactional
     public ResponseEntity atualizar(@RequestBody @Valid DadosAtualizacaoMedico dados) {
@@ -80,8 +129,17 @@ public class MedicoController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<DadosDetalhamentoMedico> detalhar(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<DadosDetalhamentoMedico> detalhar(@PathVariable Long id, WebRequest request) {
+        var versao = repository.buscarVersao(id);
+        if (versao == null) {
+            throw new EntityNotFoundException();
+        }
+        var etag = Etag.deRegistro(id, versao);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         var medico = repository.getReferenceById(id);
-        return ResponseEntity.ok(new DadosDetalhamentoMedico(medico));
+        return ResponseEntity.ok().eTag(etag).body(new DadosDetalhamentoMedico(medico));
     }
 }
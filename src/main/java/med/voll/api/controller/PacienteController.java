@@ -2,19 +2,27 @@ package med.voll.api.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import med.voll.api.domain.paciente.DadosListagemPaciente;
+import med.voll.api.domain.paciente.DadosListagemPacienteComVersao;
+import med.voll.api.infra.http.Etag;
+import med.voll.api.infra.paginacao.Cursor;
+import med.voll.api.infra.paginacao.DadosPaginaCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import med.voll.api.domain.paciente.DadosCadastroPaciente;
 import med.voll.api.domain.paciente.Paciente;
 import med.voll.api.repository.PacienteRepository;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("pacientes")
 @SecurityRequirement(name = "bearer-key")
@@ -29,13 +37,38 @@ public class PacienteController {
         repository.save(new Paciente(dados));
     }
 
+    // Somente leitura: vai para a réplica, e o ETag e a página saem do mesmo snapshot
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<Page<DadosListagemPaciente>> listar(
-            @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao
+            @PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao,
+            WebRequest request
+    ){
+        // Se nada mudou na página, responde 304 sem carregar os pacientes (a query de versões só lê o índice)
+        var versoes = repository.buscarVersoesDosAtivos(paginacao);
+        if (request.checkNotModified(Etag.dePagina(versoes))) {
+            return null;
+        }
+        var linhas = new PageImpl<>(repository.listarAtivosComVersao(paginacao), paginacao, versoes.getTotalElements());
+        var etag = Etag.dePagina(linhas.map(DadosListagemPacienteComVersao::versaoDoRegistro));
+        return ResponseEntity.ok().eTag(etag).body(linhas.map(DadosListagemPacienteComVersao::dados));
+    }
+
+    @GetMapping("/cursor")
+    @Transactional(readOnly = true)
+    public ResponseEntity<DadosPaginaCursor<DadosListagemPaciente>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int tamanho
     ){
-        var page = repository.findAllByAtivoTrue(paginacao)
-                .map(DadosListagemPaciente::new);
-        return ResponseEntity.ok(page);
+        var limite = DadosPaginaCursor.limite(tamanho);
+        List<DadosListagemPaciente> pacientes;
+        if (cursor == null) {
+            pacientes = repository.listarPrimeirosAtivosPorNome(limite);
+        } else {
+            var posicao = Cursor.decodificar(cursor, nome -> nome);
+            pacientes = repository.listarAtivosPorNomeApos(posicao.chave(), posicao.id(), limite);
+        }
+        return ResponseEntity.ok(DadosPaginaCursor.de(pacientes, tamanho, p -> Cursor.codificar(p.nome(), p.id())));
     }
 
 }
\ No newline at end of file
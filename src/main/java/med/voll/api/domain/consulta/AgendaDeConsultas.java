@@ -1,65 +1,130 @@
 package med.voll.api.domain.consulta;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import med.voll.api.domain.consulta.validacoes.cancelamento.ValidadorCancelamentoDeConsulta;
 import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorAgendamentoDeConsultas;
 import med.voll.api.domain.exception.ValidacaoException;
-import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.SeletorDeMedicoLivre;
 import med.voll.api.repository.ConsultaRepository;
 import med.voll.api.repository.MedicoRepository;
-import med.voll.api.repository.PacienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AgendaDeConsultas {
 
+    private static final int TENTATIVAS_DE_RESERVA = 3;
+
     @Autowired
     private ConsultaRepository consultaRepository;
     @Autowired
     private MedicoRepository medicoRepository;
     @Autowired
-    private PacienteRepository pacienteRepository;
+    private SeletorDeMedicoLivre seletorDeMedicoLivre;
+    @Autowired
+    private OcupacaoDeHorarios ocupacaoDeHorarios;
+    @Autowired
+    private CarregadorDeContextoDeAgendamento carregadorDeContexto;
     @Autowired
     private List<ValidadorAgendamentoDeConsultas> validadores;
 
     @Autowired
     private List<ValidadorCancelamentoDeConsulta> validadoresCancelamento;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Um timer por validador, criados uma vez para não montar tags a cada chamada
+    private final Map<Object, Timer> timersDosValidadores = new IdentityHashMap<>();
+
+    @PostConstruct
+    void registrarMetricas() {
+        validadores.forEach(v -> timersDosValidadores.put(v, timerDoValidador("agendamento", v)));
+        validadoresCancelamento.forEach(v -> timersDosValidadores.put(v, timerDoValidador("cancelamento", v)));
+    }
+
+    private Timer timerDoValidador(String tipo, Object validador) {
+        return Timer.builder("api.validacao")
+                .description("Tempo de cada validador de consultas")
+                .tag("tipo", tipo)
+                .tag("validador", validador.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    @Transactional
     public DadosDetalhamentoConsulta agendar(DadosAgendamentoConsulta dados){
-        if(!pacienteRepository.existsById(dados.idPaciente())){
+        var contexto = carregadorDeContexto.carregar(List.of(dados));
+        var horario = reservar(dados, contexto);
+
+        var paciente = contexto.paciente(horario.idPaciente());
+        var medico = contexto.medico(horario.idMedico());
+        if (medico == null) {
+            medico = medicoRepository.getReferenceById(horario.idMedico());
+        }
+        var consulta = new Consulta(null, medico, paciente, dados.data(), null);
+
+        consultaRepository.save(consulta);
+        eventPublisher.publishEvent(new ConsultaAgendada(consulta, contexto.especialidade(dados)));
+
+        return new DadosDetalhamentoConsulta(consulta);
+    }
+
+    /*
+     * Valida, escolhe o médico e reserva o horário, sem gravar; usado também pelo agendamento em lote.
+     * Se outra requisição reservou o mesmo horário entre a validação e a reserva, valida de novo:
+     * os validadores passam a enxergar a reserva concorrente e o sorteio escolhe outro médico.
+     */
+    HorarioOcupado reservar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
+        for (int tentativa = 1; ; tentativa++) {
+            var horario = validar(dados, contexto);
+            if (ocupacaoDeHorarios.reservar(horario)) {
+                return horario;
+            }
+            if (tentativa == TENTATIVAS_DE_RESERVA) {
+                throw new ValidacaoException("Horário acabou de ser ocupado, tente novamente");
+            }
+        }
+    }
+
+    private HorarioOcupado validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
+        if(contexto.paciente(dados.idPaciente()) == null){
             throw new ValidacaoException("Id do paciente não existe");
         }
-        if(dados.idMedico() != null && !medicoRepository.existsById(dados.idMedico())){
+        if(dados.idMedico() != null && contexto.medico(dados.idMedico()) == null){
             throw new ValidacaoException("Id do médico não existe");
         }
 
-        validadores.forEach(v -> v.validar(dados));
+        validadores.forEach(v -> timersDosValidadores.get(v).record(() -> v.validar(dados, contexto)));
 
-        var paciente = pacienteRepository.getReferenceById(dados.idPaciente());
-        var medico = escolherMedico(dados);
+        var idMedico = escolherMedico(dados, contexto);
 
-        if(medico == null){
+        if(idMedico == null){
             throw new ValidacaoException("Não existe médico disponivel nessa data");
         }
-        var consulta = new Consulta(null, medico, paciente, dados.data(), null);
-
-        consultaRepository.save(consulta);
-
-        return new DadosDetalhamentoConsulta(consulta);
+        return new HorarioOcupado(idMedico, dados.idPaciente(), dados.data());
     }
 
-    private Medico escolherMedico(DadosAgendamentoConsulta dados) {
+    private Long escolherMedico(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto) {
         if (dados.idMedico() != null){
-            return medicoRepository.getReferenceById(dados.idMedico());
+            return dados.idMedico();
         }
 
         if(dados.especialidade() == null){
             throw new ValidacaoException("Especialidade é obrigatória quando o médico for informado!");
         }
 
-        return medicoRepository.escolherMedicoAleatorioLivreNaData(dados.especialidade(), dados.data());
+        return seletorDeMedicoLivre.sortear(dados.especialidade(), contexto.medicosOcupados(dados.data()));
     }
 
     public void cancelar(DadosCancelamentoConsulta dadosCancelamentoConsulta) {
@@ -67,10 +132,11 @@ public class AgendaDeConsultas {
             throw new ValidacaoException("Id da consulta não existe!");
         }
 
-        validadoresCancelamento.forEach(v -> v.validar(dadosCancelamentoConsulta));
+        validadoresCancelamento.forEach(v -> timersDosValidadores.get(v).record(() -> v.validar(dadosCancelamentoConsulta)));
 
         var consulta = consultaRepository.getReferenceById(dadosCancelamentoConsulta.idConsulta());
         consulta.cancelar(dadosCancelamentoConsulta.motivoCancelamento());
+        eventPublisher.publishEvent(new ConsultaCancelada(consulta));
 
     }
 }
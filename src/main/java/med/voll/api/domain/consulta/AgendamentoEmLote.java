@@ -0,0 +1,54 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.exception.ValidacaoException;
+import med.voll.api.repository.ConsultaJdbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class AgendamentoEmLote {
+
+    @Autowired
+    private AgendaDeConsultas agendaDeConsultas;
+    @Autowired
+    private CarregadorDeContextoDeAgendamento carregadorDeContexto;
+    @Autowired
+    private ConsultaJdbcRepository consultaJdbcRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<DadosResultadoAgendamentoLote> agendar(DadosAgendamentoLote lote) {
+        var itens = lote.consultas();
+        var contexto = carregadorDeContexto.carregar(itens);
+
+        var resultados = new DadosResultadoAgendamentoLote[itens.size()];
+        var indicesAceitos = new ArrayList<Integer>();
+        var horariosAceitos = new ArrayList<HorarioOcupado>();
+
+        for (int i = 0; i < itens.size(); i++) {
+            try {
+                var horario = agendaDeConsultas.reservar(itens.get(i), contexto);
+                indicesAceitos.add(i);
+                horariosAceitos.add(horario);
+            } catch (ValidacaoException e) {
+                resultados[i] = DadosResultadoAgendamentoLote.falha(i, e.getMessage());
+            }
+        }
+
+        var ids = consultaJdbcRepository.inserirEmLote(horariosAceitos);
+        for (int j = 0; j < ids.size(); j++) {
+            var horario = horariosAceitos.get(j);
+            var consulta = new DadosDetalhamentoConsulta(ids.get(j), horario.idMedico(), horario.idPaciente(), horario.data());
+            var especialidade = contexto.especialidade(itens.get(indicesAceitos.get(j)));
+            eventPublisher.publishEvent(new ConsultaAgendada(consulta.id(), consulta.idMedico(), consulta.idPaciente(), consulta.data(), especialidade));
+            resultados[indicesAceitos.get(j)] = DadosResultadoAgendamentoLote.sucesso(indicesAceitos.get(j), consulta);
+        }
+        return List.of(resultados);
+    }
+}
@@ -0,0 +1,100 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.annotation.PostConstruct;
+import med.voll.api.repository.ConsultaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static med.voll.api.domain.consulta.validacoes.agendamento.ValidadorHorarioFuncionamentoClinica.ABERTURA;
+import static med.voll.api.domain.consulta.validacoes.agendamento.ValidadorHorarioFuncionamentoClinica.ENCERRAMENTO;
+
+/*
+ * Calendário das horas ocupadas de cada médico: por dia, um array por médico com quantas consultas
+ * ativas começam em cada hora (posição i = ABERTURA + i horas). Contagem e não um bit porque nada
+ * impede 10:00 e 10:30 no mesmo dia: cancelar uma delas não pode liberar a hora da outra.
+ * Responde "quais horas estão livres" sem consultar o banco; é atualizado pelos eventos de
+ * agendamento e cancelamento.
+ */
+@Component
+public class CalendarioDeHorarios {
+
+    public static final int HORAS_POR_DIA = ENCERRAMENTO - ABERTURA + 1;
+    private static final int TODAS_AS_HORAS = (1 << HORAS_POR_DIA) - 1;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    private final Map<LocalDate, Map<Long, int[]>> ocupadasPorDia = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void carregar() {
+        consultaRepository.buscarHorariosOcupadosAPartirDe(LocalDate.now().atStartOfDay())
+                .forEach(h -> marcar(h.idMedico(), h.data(), 1));
+    }
+
+    // Bits das horas livres do médico no dia; 0 aos domingos, quando a clínica não abre
+    public int horasLivres(Long idMedico, LocalDate dia) {
+        if (dia.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            return 0;
+        }
+        var medicos = ocupadasPorDia.get(dia);
+        var consultasPorHora = medicos == null ? null : medicos.get(idMedico);
+        if (consultasPorHora == null) {
+            return TODAS_AS_HORAS;
+        }
+        var livres = 0;
+        for (int hora = 0; hora < HORAS_POR_DIA; hora++) {
+            if (consultasPorHora[hora] == 0) {
+                livres |= 1 << hora;
+            }
+        }
+        return livres;
+    }
+
+    public static LocalDateTime horario(LocalDate dia, int bit) {
+        return dia.atTime(ABERTURA + bit, 0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAgendar(ConsultaAgendada evento) {
+        marcar(evento.idMedico(), evento.data(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCancelar(ConsultaCancelada evento) {
+        marcar(evento.idMedico(), evento.data(), -1);
+    }
+
+    @Scheduled(cron = "0 0 3 * * *")
+    public void descartarDiasPassados() {
+        var hoje = LocalDate.now();
+        ocupadasPorDia.keySet().removeIf(dia -> dia.isBefore(hoje));
+    }
+
+    private void marcar(Long idMedico, LocalDateTime data, int quantidade) {
+        var hora = data.getHour() - ABERTURA;
+        if (hora < 0 || hora >= HORAS_POR_DIA) {
+            return;
+        }
+        var medicos = ocupadasPorDia.computeIfAbsent(data.toLocalDate(), d -> new ConcurrentHashMap<>());
+        // compute é atômico por chave e o array é trocado por uma cópia, então leituras concorrentes nunca veem uma contagem pela metade
+        medicos.compute(idMedico, (id, atual) -> {
+            var consultasPorHora = atual == null ? new int[HORAS_POR_DIA] : atual.clone();
+            consultasPorHora[hora] = Math.max(consultasPorHora[hora] + quantidade, 0);
+            for (var consultas : consultasPorHora) {
+                if (consultas > 0) {
+                    return consultasPorHora;
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import med.voll.api.domain.consulta.validacoes.agendamento.ValidadorAgendamentoDeConsultas;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.Paciente;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class CarregadorDeContextoDeAgendamento {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private OcupacaoDeHorarios ocupacaoDeHorarios;
+    @Autowired
+    private List<ValidadorAgendamentoDeConsultas> validadores;
+
+    private Set<FatoDeAgendamento> fatos;
+
+    // A própria agenda precisa do paciente e do médico para checar que existem e montar a consulta
+    @PostConstruct
+    public void identificarFatosNecessarios() {
+        fatos = EnumSet.of(FatoDeAgendamento.PACIENTE, FatoDeAgendamento.MEDICO);
+        validadores.forEach(v -> fatos.addAll(v.fatosNecessarios()));
+    }
+
+    public ContextoDeAgendamento carregar(List<DadosAgendamentoConsulta> itens) {
+        Map<Long, Paciente> pacientes = Map.of();
+        if (fatos.contains(FatoDeAgendamento.PACIENTE)) {
+            var ids = itens.stream().map(DadosAgendamentoConsulta::idPaciente).collect(Collectors.toSet());
+            pacientes = carregarPorId(Paciente.class, ids).stream()
+                    .collect(Collectors.toMap(Paciente::getId, Function.identity()));
+        }
+
+        Map<Long, Medico> medicos = Map.of();
+        var idsMedicos = itens.stream().map(DadosAgendamentoConsulta::idMedico)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (fatos.contains(FatoDeAgendamento.MEDICO) && !idsMedicos.isEmpty()) {
+            medicos = carregarPorId(Medico.class, idsMedicos).stream()
+                    .collect(Collectors.toMap(Medico::getId, Function.identity()));
+        }
+
+        return new ContextoDeAgendamento(pacientes, medicos, ocupacaoDeHorarios);
+    }
+
+    // Diferente do findAllById (uma query com IN), o multiLoad busca primeiro no cache de segundo nível
+    private <T> List<T> carregarPorId(Class<T> entidade, Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(entidade)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
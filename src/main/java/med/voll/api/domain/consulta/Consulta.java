@@ -4,6 +4,7 @@ package med.voll.api.domain.consulta;
 import jakarta.persistence.*;
 import lombok.*;
 import med.voll.api.domain.consulta.enums.MotivoCancelamento;
+import med.voll.api.domain.exception.ValidacaoException;
 import med.voll.api.domain.medico.Medico;
 import med.voll.api.domain.paciente.Paciente;
 
@@ -35,7 +36,11 @@ public class Consulta {
     @Enumerated(EnumType.STRING)
     private MotivoCancelamento motivoCancelamento;
 
+    // Cancelar de novo publicaria outro ConsultaCancelada e liberaria um horário que pode já ser de outra consulta
     public void cancelar(MotivoCancelamento motivo) {
+        if (this.motivoCancelamento != null) {
+            throw new ValidacaoException("Consulta já foi cancelada!");
+        }
         this.motivoCancelamento = motivo;
     }
 }
@@ -0,0 +1,17 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+
+import java.time.LocalDateTime;
+
+public record ConsultaAgendada(Long idConsulta, Long idMedico, Long idPaciente, LocalDateTime data,
+                               Especialidade especialidade) {
+
+    public ConsultaAgendada(Consulta consulta, Especialidade especialidade) {
+        this(consulta.getId(), consulta.getMedico().getId(), consulta.getPaciente().getId(), consulta.getData(), especialidade);
+    }
+
+    public HorarioOcupado horario() {
+        return new HorarioOcupado(idMedico, idPaciente, data);
+    }
+}
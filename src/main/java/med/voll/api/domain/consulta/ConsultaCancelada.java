@@ -0,0 +1,19 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.consulta.enums.MotivoCancelamento;
+import med.voll.api.domain.medico.Especialidade;
+
+import java.time.LocalDateTime;
+
+public record ConsultaCancelada(Long idConsulta, Long idMedico, Long idPaciente, LocalDateTime data,
+                                MotivoCancelamento motivoCancelamento, Especialidade especialidade) {
+
+    public ConsultaCancelada(Consulta consulta) {
+        this(consulta.getId(), consulta.getMedico().getId(), consulta.getPaciente().getId(),
+                consulta.getData(), consulta.getMotivoCancelamento(), consulta.getMedico().getEspecialidade());
+    }
+
+    public HorarioOcupado horario() {
+        return new HorarioOcupado(idMedico, idPaciente, data);
+    }
+}
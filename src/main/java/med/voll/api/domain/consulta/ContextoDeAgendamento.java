@@ -0,0 +1,55 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.Paciente;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Dados que os validadores de agendamento consultam, carregados uma única vez por
+ * requisição (uma consulta ou um lote inteiro). A ocupação inclui as reservas ainda
+ * não confirmadas, inclusive as dos itens anteriores do mesmo lote.
+ */
+public class ContextoDeAgendamento {
+
+    private final Map<Long, Paciente> pacientes;
+    private final Map<Long, Medico> medicos;
+    private final OcupacaoDeHorarios ocupacaoDeHorarios;
+
+    public ContextoDeAgendamento(Map<Long, Paciente> pacientes, Map<Long, Medico> medicos,
+                                 OcupacaoDeHorarios ocupacaoDeHorarios) {
+        this.pacientes = pacientes;
+        this.medicos = medicos;
+        this.ocupacaoDeHorarios = ocupacaoDeHorarios;
+    }
+
+    public Paciente paciente(Long id) {
+        return pacientes.get(id);
+    }
+
+    public Medico medico(Long id) {
+        return medicos.get(id);
+    }
+
+    // Médico sorteado não está no contexto, mas é da especialidade pedida
+    public Especialidade especialidade(DadosAgendamentoConsulta dados) {
+        var medico = dados.idMedico() == null ? null : medicos.get(dados.idMedico());
+        return medico != null ? medico.getEspecialidade() : dados.especialidade();
+    }
+
+    public boolean medicoOcupado(Long idMedico, LocalDateTime data) {
+        return ocupacaoDeHorarios.medicoOcupado(idMedico, data);
+    }
+
+    public boolean pacienteOcupadoNoDia(Long idPaciente, LocalDate dia) {
+        return ocupacaoDeHorarios.pacienteOcupadoNoDia(idPaciente, dia);
+    }
+
+    public Set<Long> medicosOcupados(LocalDateTime data) {
+        return ocupacaoDeHorarios.medicosOcupados(data);
+    }
+}
@@ -0,0 +1,15 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record DadosAgendamentoLote(
+        @NotEmpty
+        @Size(max = 1000)
+        List<@NotNull @Valid DadosAgendamentoConsulta> consultas
+) {
+}
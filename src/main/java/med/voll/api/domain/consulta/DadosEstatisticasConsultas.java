@@ -0,0 +1,8 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.consulta.enums.MotivoCancelamento;
+
+import java.util.Map;
+
+public record DadosEstatisticasConsultas(String grupo, long agendadas, Map<MotivoCancelamento, Long> canceladas) {
+}
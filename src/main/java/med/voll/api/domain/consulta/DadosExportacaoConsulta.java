@@ -0,0 +1,16 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+
+public record DadosExportacaoConsulta(
+        Long id,
+        LocalDateTime data,
+        Long idMedico,
+        String nomeMedico,
+        String crm,
+        String especialidade,
+        Long idPaciente,
+        String nomePaciente,
+        String motivoCancelamento
+) {
+}
@@ -0,0 +1,12 @@
+package med.voll.api.domain.consulta;
+
+public record DadosResultadoAgendamentoLote(int indice, DadosDetalhamentoConsulta consulta, String erro) {
+
+    public static DadosResultadoAgendamentoLote sucesso(int indice, DadosDetalhamentoConsulta consulta) {
+        return new DadosResultadoAgendamentoLote(indice, consulta, null);
+    }
+
+    public static DadosResultadoAgendamentoLote falha(int indice, String erro) {
+        return new DadosResultadoAgendamentoLote(indice, null, erro);
+    }
+}
@@ -0,0 +1,149 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.consulta.enums.AgrupamentoEstatisticas;
+import med.voll.api.domain.consulta.enums.MotivoCancelamento;
+import med.voll.api.domain.exception.ValidacaoException;
+import med.voll.api.infra.transacao.AcumuladorTransacional;
+import med.voll.api.repository.EstatisticaConsultaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Estatísticas de consultas servidas por contadores agregados (dia x médico e dia x especialidade),
+ * então o relatório custa o tamanho do resultado e não o da tabela de consultas.
+ * Os contadores são incrementados na transação do agendamento/cancelamento, em um único lote
+ * antes do commit, e recalculados toda noite para a janela recente.
+ */
+@Service
+public class EstatisticasDeConsultas {
+
+    public static final int MAXIMO_DE_DIAS = 366;
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasDeConsultas.class);
+
+    // Cada ordem segue a chave primária da sua tabela, para transações concorrentes travarem as linhas na mesma ordem
+    private static final Comparator<IncrementoDeEstatistica> LINHA_POR_MEDICO = Comparator
+            .comparing(IncrementoDeEstatistica::dia)
+            .thenComparing(IncrementoDeEstatistica::idMedico)
+            .thenComparing(IncrementoDeEstatistica::situacao);
+    private static final Comparator<IncrementoDeEstatistica> LINHA_POR_ESPECIALIDADE = Comparator
+            .comparing(IncrementoDeEstatistica::dia)
+            .thenComparing(incremento -> incremento.especialidade().name())
+            .thenComparing(IncrementoDeEstatistica::situacao);
+
+    private final EstatisticaConsultaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final AcumuladorTransacional<IncrementoDeEstatistica> incrementos;
+
+    @Value("${api.consultas.estatisticas.reconciliacao.dias-anteriores:7}")
+    private int diasAnteriores;
+
+    @Value("${api.consultas.estatisticas.reconciliacao.dias-seguintes:90}")
+    private int diasSeguintes;
+
+    public EstatisticasDeConsultas(EstatisticaConsultaRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.incrementos = new AcumuladorTransacional<>(this::gravar);
+    }
+
+    @EventListener
+    public void aoAgendar(ConsultaAgendada evento) {
+        incrementos.adicionar(new IncrementoDeEstatistica(evento.data().toLocalDate(), evento.idMedico(), evento.especialidade(),
+                IncrementoDeEstatistica.AGENDADA, 1));
+    }
+
+    @EventListener
+    public void aoCancelar(ConsultaCancelada evento) {
+        incrementos.adicionar(new IncrementoDeEstatistica(evento.data().toLocalDate(), evento.idMedico(), evento.especialidade(),
+                evento.motivoCancelamento().name(), 1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DadosEstatisticasConsultas> consultar(AgrupamentoEstatisticas agrupamento, LocalDate de, LocalDate ate) {
+        if (ate.isBefore(de)) {
+            throw new ValidacaoException("A data final não pode ser anterior à inicial");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= MAXIMO_DE_DIAS) {
+            throw new ValidacaoException("O período deve ter no máximo " + MAXIMO_DE_DIAS + " dias");
+        }
+
+        var agendadas = new LinkedHashMap<String, Long>();
+        var canceladas = new LinkedHashMap<String, Map<MotivoCancelamento, Long>>();
+        repository.somar(agrupamento, de, ate, linha -> {
+            var grupo = linha.getString("grupo");
+            var situacao = linha.getString("situacao");
+            var quantidade = linha.getLong("quantidade");
+            agendadas.putIfAbsent(grupo, 0L);
+            var porMotivo = canceladas.computeIfAbsent(grupo, g -> new EnumMap<>(MotivoCancelamento.class));
+            if (IncrementoDeEstatistica.AGENDADA.equals(situacao)) {
+                agendadas.put(grupo, quantidade);
+            } else {
+                porMotivo.put(MotivoCancelamento.valueOf(situacao), quantidade);
+            }
+        });
+
+        var estatisticas = new ArrayList<DadosEstatisticasConsultas>(agendadas.size());
+        agendadas.forEach((grupo, quantidade) -> estatisticas.add(new DadosEstatisticasConsultas(grupo, quantidade, canceladas.get(grupo))));
+        return estatisticas;
+    }
+
+    /*
+     * Corrige o que os incrementos possam ter perdido (ex.: alterações feitas direto no banco).
+     * Um dia por transação, contando com um select sem travas: os agendamentos só esperam pela
+     * troca das linhas de um dia e nunca o contrário, então não há deadlock com eles. Um agendamento
+     * confirmado entre a contagem e a troca some do contador até a próxima reconciliação.
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void reconciliar() {
+        var hoje = LocalDate.now();
+        for (var dia = hoje.minusDays(diasAnteriores); !dia.isAfter(hoje.plusDays(diasSeguintes)); dia = dia.plusDays(1)) {
+            var contagens = repository.contar(dia);
+            var porMedico = somarPorLinha(contagens, LINHA_POR_MEDICO);
+            var porEspecialidade = somarPorLinha(contagens, LINHA_POR_ESPECIALIDADE);
+            var reconciliado = dia;
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.excluir(reconciliado);
+                repository.incrementarMedicos(porMedico);
+                repository.incrementarEspecialidades(porEspecialidade);
+            });
+        }
+        log.atInfo()
+                .setMessage("estatísticas de consultas reconciliadas")
+                .addKeyValue("de", hoje.minusDays(diasAnteriores))
+                .addKeyValue("ate", hoje.plusDays(diasSeguintes))
+                .log();
+    }
+
+    // Soma os incrementos da transação por linha de cada tabela (um lote de 1000 agendamentos vira poucas linhas)
+    private void gravar(List<IncrementoDeEstatistica> pendentes) {
+        repository.incrementarMedicos(somarPorLinha(pendentes, LINHA_POR_MEDICO));
+        repository.incrementarEspecialidades(somarPorLinha(pendentes, LINHA_POR_ESPECIALIDADE));
+    }
+
+    // Devolve as linhas já na ordem do comparador
+    private static List<IncrementoDeEstatistica> somarPorLinha(List<IncrementoDeEstatistica> pendentes,
+                                                              Comparator<IncrementoDeEstatistica> linha) {
+        var porLinha = new TreeMap<IncrementoDeEstatistica, Integer>(linha);
+        pendentes.forEach(incremento -> porLinha.merge(incremento, incremento.quantidade(), Integer::sum));
+        return porLinha.entrySet().stream()
+                .map(e -> e.getKey().comQuantidade(e.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,104 @@
+package med.voll.api.domain.consulta;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.consulta.enums.FormatoExportacao;
+import med.voll.api.repository.ConsultaJdbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+// Escreve cada linha assim que ela sai do cursor do banco; a memória usada não depende do período exportado
+@Service
+public class ExportacaoDeConsultas {
+
+    private static final String CABECALHO_CSV =
+            "id,data,id_medico,nome_medico,crm,especialidade,id_paciente,nome_paciente,motivo_cancelamento";
+
+    @Autowired
+    private ConsultaJdbcRepository consultaJdbcRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // readOnly para a leitura longa do cursor ir para a réplica, quando configurada
+    @Transactional(readOnly = true)
+    public void exportar(FormatoExportacao formato, LocalDateTime inicio, LocalDateTime fim, OutputStream saida)
+            throws IOException {
+        try {
+            switch (formato) {
+                case NDJSON -> exportarNdjson(inicio, fim, saida);
+                case CSV -> exportarCsv(inicio, fim, saida);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportarNdjson(LocalDateTime inicio, LocalDateTime fim, OutputStream saida) throws IOException {
+        try (var linhas = objectMapper.writer().withRootValueSeparator("\n").writeValues(saida)) {
+            consultaJdbcRepository.exportar(inicio, fim, consulta -> {
+                try {
+                    linhas.write(consulta);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void exportarCsv(LocalDateTime inicio, LocalDateTime fim, OutputStream saida) throws IOException {
+        try (var escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8))) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+            consultaJdbcRepository.exportar(inicio, fim, consulta -> {
+                try {
+                    escreverLinhaCsv(escritor, consulta);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void escreverLinhaCsv(Writer escritor, DadosExportacaoConsulta c) throws IOException {
+        escritor.write(String.valueOf(c.id()));
+        escritor.write(',');
+        escritor.write(c.data().toString());
+        escritor.write(',');
+        escritor.write(String.valueOf(c.idMedico()));
+        escritor.write(',');
+        escreverCampoCsv(escritor, c.nomeMedico());
+        escritor.write(',');
+        escreverCampoCsv(escritor, c.crm());
+        escritor.write(',');
+        escreverCampoCsv(escritor, c.especialidade());
+        escritor.write(',');
+        escritor.write(String.valueOf(c.idPaciente()));
+        escritor.write(',');
+        escreverCampoCsv(escritor, c.nomePaciente());
+        escritor.write(',');
+        escreverCampoCsv(escritor, c.motivoCancelamento());
+        escritor.write('\n');
+    }
+
+    private void escreverCampoCsv(Writer escritor, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+}
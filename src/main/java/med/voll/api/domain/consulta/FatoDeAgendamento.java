@@ -0,0 +1,6 @@
+package med.voll.api.domain.consulta;
+
+public enum FatoDeAgendamento {
+    PACIENTE,
+    MEDICO;
+}
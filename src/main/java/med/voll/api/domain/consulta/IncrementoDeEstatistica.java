@@ -0,0 +1,14 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+
+import java.time.LocalDate;
+
+public record IncrementoDeEstatistica(LocalDate dia, Long idMedico, Especialidade especialidade, String situacao, int quantidade) {
+
+    public static final String AGENDADA = "AGENDADA";
+
+    public IncrementoDeEstatistica comQuantidade(int quantidade) {
+        return new IncrementoDeEstatistica(dia, idMedico, especialidade, situacao, quantidade);
+    }
+}
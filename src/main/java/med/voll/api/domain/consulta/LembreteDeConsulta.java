@@ -0,0 +1,10 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+
+public record LembreteDeConsulta(Long idConsulta, Long idMedico, Long idPaciente, LocalDateTime data) {
+
+    public LembreteDeConsulta(ConsultaAgendada evento) {
+        this(evento.idConsulta(), evento.idMedico(), evento.idPaciente(), evento.data());
+    }
+}
@@ -0,0 +1,182 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.annotation.PostConstruct;
+import med.voll.api.infra.tempo.RodaDeTempo;
+import med.voll.api.repository.ConsultaRepository;
+import med.voll.api.repository.MarcaDeProcessamentoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Dispara um LembreteDeConsulta (gravado no outbox) "antecedencia" antes de cada consulta.
+ * Só a próxima janela de lembretes fica em memória, numa roda de tempo de 1s; ela é recarregada
+ * do banco aos poucos e mantida pelos eventos de agendamento e cancelamento. A marca persistida
+ * diz até quando os lembretes já foram enviados, então ao reiniciar só se lê dali em diante.
+ * Com várias instâncias, deixe api.lembretes.ativo=true em apenas uma.
+ */
+@Component
+@ConditionalOnProperty(name = "api.lembretes.ativo", havingValue = "true", matchIfMissing = true)
+public class LembretesDeConsultas {
+
+    static final String MARCA = "lembretes-de-consultas";
+    private static final long TICK_EM_MILLIS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(LembretesDeConsultas.class);
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private MarcaDeProcessamentoRepository marcas;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${api.lembretes.antecedencia:24h}")
+    private Duration antecedencia;
+
+    @Value("${api.lembretes.janela:1h}")
+    private Duration janela;
+
+    private final RodaDeTempo<Long, LembreteDeConsulta> roda = new RodaDeTempo<>(TICK_EM_MILLIS, System.currentTimeMillis());
+
+    // Protege a roda e carregadoAte; os eventos chegam nas threads das requisições, que podem ser virtuais
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Todo lembrete previsto até aqui já está na roda ou já foi enviado
+    private LocalDateTime carregadoAte;
+
+    @PostConstruct
+    public void iniciar() {
+        carregadoAte = marcas.buscar(MARCA).orElseGet(LocalDateTime::now);
+        carregarProximaJanela();
+    }
+
+    @Scheduled(fixedDelayString = "${api.lembretes.intervalo-carga:5m}", initialDelayString = "${api.lembretes.intervalo-carga:5m}")
+    public void carregarProximaJanela() {
+        carregarProximaJanela(LocalDateTime.now());
+    }
+
+    void carregarProximaJanela(LocalDateTime agora) {
+        LocalDateTime de;
+        LocalDateTime ate = agora.plus(janela);
+        lock.lock();
+        try {
+            de = carregadoAte;
+            if (!ate.isAfter(de)) {
+                return;
+            }
+            // Avança antes de consultar: o que for agendado durante a consulta entra pelo evento,
+            // e se vier pelos dois caminhos a chave da roda evita o lembrete duplicado
+            carregadoAte = ate;
+        } finally {
+            lock.unlock();
+        }
+
+        var inicio = de.plus(antecedencia);
+        // Depois de muito tempo parado, lembretes de consultas que já aconteceram não são enviados
+        var lembretes = consultaRepository.buscarLembretesEntre(inicio.isAfter(agora) ? inicio : agora, ate.plus(antecedencia));
+        agendarTodos(lembretes);
+        log.atDebug()
+                .setMessage("janela de lembretes carregada")
+                .addKeyValue("ate", ate)
+                .addKeyValue("lembretes", lembretes.size())
+                .log();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAgendar(ConsultaAgendada evento) {
+        var lembrete = new LembreteDeConsulta(evento);
+        lock.lock();
+        try {
+            // Além da janela, será lido do banco quando ela chegar lá
+            if (!lembrete.data().minus(antecedencia).isAfter(carregadoAte)) {
+                agendar(lembrete);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCancelar(ConsultaCancelada evento) {
+        lock.lock();
+        try {
+            roda.cancelar(evento.idConsulta());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRate = TICK_EM_MILLIS)
+    public void enviarVencidos() {
+        enviarVencidos(LocalDateTime.now());
+    }
+
+    void enviarVencidos(LocalDateTime agora) {
+        List<LembreteDeConsulta> vencidos;
+        lock.lock();
+        try {
+            vencidos = roda.avancar(emMillis(agora));
+        } finally {
+            lock.unlock();
+        }
+        if (vencidos.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Um cancelamento pode ter corrido com a carga da janela; confere antes de enviar
+                var naoCanceladas = new HashSet<>(consultaRepository.filtrarNaoCanceladas(
+                        vencidos.stream().map(LembreteDeConsulta::idConsulta).toList()));
+                vencidos.stream()
+                        .filter(lembrete -> naoCanceladas.contains(lembrete.idConsulta()))
+                        .forEach(publisher::publishEvent);
+                marcas.atualizar(MARCA, agora);
+            });
+        } catch (RuntimeException e) {
+            log.atWarn()
+                    .setMessage("falha ao enviar lembretes; nova tentativa no próximo tick")
+                    .addKeyValue("lembretes", vencidos.size())
+                    .setCause(e)
+                    .log();
+            agendarTodos(vencidos);
+        }
+    }
+
+    private void agendarTodos(List<LembreteDeConsulta> lembretes) {
+        lock.lock();
+        try {
+            lembretes.forEach(this::agendar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void agendar(LembreteDeConsulta lembrete) {
+        roda.agendar(lembrete.idConsulta(), emMillis(lembrete.data().minus(antecedencia)), lembrete);
+    }
+
+    private static long emMillis(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,108 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.annotation.PostConstruct;
+import med.voll.api.infra.transacao.AposRollback;
+import med.voll.api.repository.ConsultaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Índice em memória dos horários ocupados (médico por horário e paciente por dia),
+ * mantido a partir dos eventos de agendamento e cancelamento, para que as validações
+ * de conflito não precisem consultar o banco a cada agendamento.
+ */
+@Component
+public class OcupacaoDeHorarios {
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    private final Map<LocalDateTime, Set<Long>> medicosPorHorario = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Set<Long>> pacientesPorDia = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void carregar() {
+        consultaRepository.buscarHorariosOcupadosAPartirDe(LocalDate.now().atStartOfDay())
+                .forEach(this::ocupar);
+    }
+
+    public boolean medicoOcupado(Long idMedico, LocalDateTime data) {
+        if (idMedico == null) {
+            return false;
+        }
+        var medicos = medicosPorHorario.get(data);
+        return medicos != null && medicos.contains(idMedico);
+    }
+
+    public boolean pacienteOcupadoNoDia(Long idPaciente, LocalDate dia) {
+        var pacientes = pacientesPorDia.get(dia);
+        return pacientes != null && pacientes.contains(idPaciente);
+    }
+
+    public Set<Long> medicosOcupados(LocalDateTime data) {
+        return medicosPorHorario.getOrDefault(data, Set.of());
+    }
+
+    /*
+     * Reserva o horário do médico e o dia do paciente de forma atômica: entre requisições
+     * concorrentes só uma consegue, sem travar os demais horários. A reserva é desfeita se a
+     * transação corrente não for confirmada.
+     */
+    public boolean reservar(HorarioOcupado horario) {
+        var medicos = medicosPorHorario.computeIfAbsent(horario.data(), d -> ConcurrentHashMap.newKeySet());
+        if (!medicos.add(horario.idMedico())) {
+            return false;
+        }
+        var pacientes = pacientesPorDia.computeIfAbsent(horario.data().toLocalDate(), d -> ConcurrentHashMap.newKeySet());
+        if (!pacientes.add(horario.idPaciente())) {
+            medicos.remove(horario.idMedico());
+            return false;
+        }
+        AposRollback.executar(() -> liberar(horario));
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAgendar(ConsultaAgendada evento) {
+        ocupar(evento.horario());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCancelar(ConsultaCancelada evento) {
+        liberar(evento.horario());
+    }
+
+    // Horários que já passaram não participam mais de nenhuma validação
+    @Scheduled(cron = "0 0 3 * * *")
+    public void descartarHorariosPassados() {
+        var hoje = LocalDate.now();
+        medicosPorHorario.keySet().removeIf(data -> data.toLocalDate().isBefore(hoje));
+        pacientesPorDia.keySet().removeIf(dia -> dia.isBefore(hoje));
+    }
+
+    private void ocupar(HorarioOcupado horario) {
+        medicosPorHorario.computeIfAbsent(horario.data(), d -> ConcurrentHashMap.newKeySet())
+                .add(horario.idMedico());
+        pacientesPorDia.computeIfAbsent(horario.data().toLocalDate(), d -> ConcurrentHashMap.newKeySet())
+                .add(horario.idPaciente());
+    }
+
+    private void liberar(HorarioOcupado horario) {
+        var medicos = medicosPorHorario.get(horario.data());
+        if (medicos != null) {
+            medicos.remove(horario.idMedico());
+        }
+        var pacientes = pacientesPorDia.get(horario.data().toLocalDate());
+        if (pacientes != null) {
+            pacientes.remove(horario.idPaciente());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package med.voll.api.domain.consulta.enums;
+
+import med.voll.api.domain.exception.ValidacaoException;
+
+public enum AgrupamentoEstatisticas {
+    DIA("dia"),
+    MEDICO("medico"),
+    ESPECIALIDADE("especialidade");
+
+    private final String nome;
+
+    AgrupamentoEstatisticas(String nome) {
+        this.nome = nome;
+    }
+
+    public static AgrupamentoEstatisticas de(String agrupamento) {
+        for (var valor : values()) {
+            if (valor.nome.equalsIgnoreCase(agrupamento)) {
+                return valor;
+            }
+        }
+        throw new ValidacaoException("Agrupamento inválido: use dia, medico ou especialidade");
+    }
+}
@@ -0,0 +1,33 @@
+package med.voll.api.domain.consulta.enums;
+
+import med.voll.api.domain.exception.ValidacaoException;
+
+public enum FormatoExportacao {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String tipoDeConteudo;
+    private final String extensao;
+
+    FormatoExportacao(String tipoDeConteudo, String extensao) {
+        this.tipoDeConteudo = tipoDeConteudo;
+        this.extensao = extensao;
+    }
+
+    public String getTipoDeConteudo() {
+        return tipoDeConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String formato) {
+        for (var valor : values()) {
+            if (valor.extensao.equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new ValidacaoException("Formato de exportação inválido: use ndjson ou csv");
+    }
+}
@@ -1,9 +1,18 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.FatoDeAgendamento;
+
+import java.util.Set;
 
 public interface ValidadorAgendamentoDeConsultas {
 
-    void validar(DadosAgendamentoConsulta dados);
+    void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto);
+
+    // Dados que o contexto precisa carregar do banco para este validador
+    default Set<FatoDeAgendamento> fatosNecessarios() {
+        return Set.of();
+    }
 
 }
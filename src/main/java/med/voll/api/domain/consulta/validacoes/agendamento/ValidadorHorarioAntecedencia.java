@@ -1,5 +1,6 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import med.voll.api.domain.exception.ValidacaoException;
 import org.springframework.stereotype.Component;
@@ -10,12 +11,14 @@ import java.time.LocalDateTime;
 @Component("ValidadorHorarioAntecedenciaAgendamento")
 public class ValidadorHorarioAntecedencia implements ValidadorAgendamentoDeConsultas{
 
-    public  void validar(DadosAgendamentoConsulta dados){
+    public static final int ANTECEDENCIA_MINIMA_EM_MINUTOS = 30;
+
+    public  void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
         var dataConsulta = dados.data();
         var agora = LocalDateTime.now();
         var diferencaEmMinutos = Duration.between(agora, dataConsulta).toMinutes();
 
-        if (diferencaEmMinutos < 30){
+        if (diferencaEmMinutos < ANTECEDENCIA_MINIMA_EM_MINUTOS){
             throw new ValidacaoException("Consulta deve ser agendad com antecedência mínima de 30 minutos");
         }
     }
@@ -1,5 +1,6 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import med.voll.api.domain.exception.ValidacaoException;
 import org.springframework.stereotype.Component;
@@ -9,12 +10,16 @@ import java.time.DayOfWeek;
 @Component
 public class ValidadorHorarioFuncionamentoClinica  implements ValidadorAgendamentoDeConsultas{
 
-    public void validar(DadosAgendamentoConsulta dados){
+    // Primeira e última hora em que uma consulta pode começar
+    public static final int ABERTURA = 7;
+    public static final int ENCERRAMENTO = 18;
+
+    public void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
         var dataConsulta = dados.data();
 
         var domingo = dataConsulta.getDayOfWeek().equals(DayOfWeek.SUNDAY);
-        var antesDaAberturaDaClinica = dataConsulta.getHour() < 7;
-        var depoisDoEncerramentoDaClinica = dataConsulta.getHour() > 18;
+        var antesDaAberturaDaClinica = dataConsulta.getHour() < ABERTURA;
+        var depoisDoEncerramentoDaClinica = dataConsulta.getHour() > ENCERRAMENTO;
         if (domingo || antesDaAberturaDaClinica || depoisDoEncerramentoDaClinica){
             throw new ValidacaoException("COnsulta fora do horário de funcionamento");
         }
@@ -1,25 +1,29 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.FatoDeAgendamento;
 import med.voll.api.domain.exception.ValidacaoException;
-import med.voll.api.repository.MedicoRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class ValidadorMedicoAtivo  implements ValidadorAgendamentoDeConsultas{
 
-    @Autowired
-    private MedicoRepository medicoRepository;
-
-    public void validar(DadosAgendamentoConsulta dados){
+    public void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
         if(dados.idMedico() == null){
             return;
         }
 
-        var medicoEstaAtivo = medicoRepository.findAtivoById(dados.idMedico());
-        if(!medicoEstaAtivo){
+        var medico = contexto.medico(dados.idMedico());
+        if(medico == null || !Boolean.TRUE.equals(medico.getAtivo())){
             throw new ValidacaoException("Consulta não pode ser agendada com médico exluído");
         }
     }
+
+    @Override
+    public Set<FatoDeAgendamento> fatosNecessarios() {
+        return Set.of(FatoDeAgendamento.MEDICO);
+    }
 }
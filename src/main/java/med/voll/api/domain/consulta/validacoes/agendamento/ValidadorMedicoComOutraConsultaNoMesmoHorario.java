@@ -1,19 +1,16 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import med.voll.api.domain.exception.ValidacaoException;
-import med.voll.api.repository.ConsultaRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidadorMedicoComOutraConsultaNoMesmoHorario  implements ValidadorAgendamentoDeConsultas{
 
-    @Autowired
-    private ConsultaRepository consultaRepository;
-    public void validar(DadosAgendamentoConsulta dados){
-        var medicoPossuiOutraConsultaMesmoHorario = consultaRepository
-                .existsByMedicoIdAndData(dados.idMedico(), dados.data());
+    public void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
+        var medicoPossuiOutraConsultaMesmoHorario = contexto
+                .medicoOcupado(dados.idMedico(), dados.data());
 
         if(medicoPossuiOutraConsultaMesmoHorario){
             throw new ValidacaoException("Médico já possui outra consulta agendada nesse mesmo horaŕio");
@@ -1,22 +1,26 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.FatoDeAgendamento;
 import med.voll.api.domain.exception.ValidacaoException;
-import med.voll.api.repository.PacienteRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class ValidadorPacienteAtivo  implements ValidadorAgendamentoDeConsultas{
 
-    @Autowired
-    private PacienteRepository pacienteRepository;
-    public void validar(DadosAgendamentoConsulta dados){
-        var pacienteEstaAtivo = pacienteRepository
-                .findAtivoById(dados.idPaciente());
+    public void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
+        var paciente = contexto.paciente(dados.idPaciente());
 
-        if(!pacienteEstaAtivo){
+        if(paciente == null || !paciente.isAtivo()){
             throw new ValidacaoException("Consulat não pode ser agendada com paciente excluído");
         }
     }
+
+    @Override
+    public Set<FatoDeAgendamento> fatosNecessarios() {
+        return Set.of(FatoDeAgendamento.PACIENTE);
+    }
 }
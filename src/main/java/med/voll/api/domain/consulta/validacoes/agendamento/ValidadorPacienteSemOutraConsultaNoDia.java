@@ -1,22 +1,16 @@
 package med.voll.api.domain.consulta.validacoes.agendamento;
 
+import med.voll.api.domain.consulta.ContextoDeAgendamento;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import med.voll.api.domain.exception.ValidacaoException;
-import med.voll.api.repository.ConsultaRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ValidadorPacienteSemOutraConsultaNoDia  implements ValidadorAgendamentoDeConsultas{
 
-    @Autowired
-    private ConsultaRepository consultaRepository;
-    public void validar(DadosAgendamentoConsulta dados){
-        var primeiroHorario = dados.data().withHour(7);
-        var ultimoHorario = dados.data().withHour(18);
-
-        var pacientePossuiOutraCOnsultaNoDia = consultaRepository
-                .existsByPacienteIdAndDataBetween(dados.idPaciente(), primeiroHorario, ultimoHorario);
+    public void validar(DadosAgendamentoConsulta dados, ContextoDeAgendamento contexto){
+        var pacientePossuiOutraCOnsultaNoDia = contexto
+                .pacienteOcupadoNoDia(dados.idPaciente(), dados.data().toLocalDate());
 
         if(pacientePossuiOutraCOnsultaNoDia){
             throw new ValidacaoException("Paciente já poossui consulta agendada nesse dia");
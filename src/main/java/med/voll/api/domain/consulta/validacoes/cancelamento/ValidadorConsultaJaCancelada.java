@@ -0,0 +1,22 @@
+package med.voll.api.domain.consulta.validacoes.cancelamento;
+
+import med.voll.api.domain.consulta.DadosCancelamentoConsulta;
+import med.voll.api.domain.exception.ValidacaoException;
+import med.voll.api.repository.ConsultaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ValidadorConsultaJaCancelada implements ValidadorCancelamentoDeConsulta {
+
+    @Autowired
+    private ConsultaRepository repository;
+
+    @Override
+    public void validar(DadosCancelamentoConsulta dados) {
+        var consulta = repository.getReferenceById(dados.idConsulta());
+        if (consulta.getMotivoCancelamento() != null) {
+            throw new ValidacaoException("Consulta já foi cancelada!");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.domain.consulta.CalendarioDeHorarios;
+import med.voll.api.domain.exception.ValidacaoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static med.voll.api.domain.consulta.validacoes.agendamento.ValidadorHorarioAntecedencia.ANTECEDENCIA_MINIMA_EM_MINUTOS;
+
+// Horários livres por médico, lidos só da memória (médicos ativos da especialidade e calendário de horas ocupadas)
+@Service
+public class BuscaDeDisponibilidade {
+
+    public static final int MAXIMO_DE_DIAS = 31;
+
+    @Autowired
+    private SeletorDeMedicoLivre seletorDeMedicoLivre;
+    @Autowired
+    private CalendarioDeHorarios calendarioDeHorarios;
+
+    public List<DadosDisponibilidadeMedico> buscar(Especialidade especialidade, LocalDate de, LocalDate ate) {
+        if (ate.isBefore(de)) {
+            throw new ValidacaoException("A data final não pode ser anterior à inicial");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= MAXIMO_DE_DIAS) {
+            throw new ValidacaoException("O período de busca deve ter no máximo " + MAXIMO_DE_DIAS + " dias");
+        }
+
+        var primeiroHorarioPermitido = LocalDateTime.now().plusMinutes(ANTECEDENCIA_MINIMA_EM_MINUTOS);
+        var disponibilidade = new ArrayList<DadosDisponibilidadeMedico>();
+        for (var idMedico : seletorDeMedicoLivre.medicosAtivos(especialidade)) {
+            var horarios = new ArrayList<LocalDateTime>();
+            for (var dia = de; !dia.isAfter(ate); dia = dia.plusDays(1)) {
+                var livres = calendarioDeHorarios.horasLivres(idMedico, dia);
+                while (livres != 0) {
+                    var bit = Integer.numberOfTrailingZeros(livres);
+                    livres &= livres - 1;
+                    var horario = CalendarioDeHorarios.horario(dia, bit);
+                    if (!horario.isBefore(primeiroHorarioPermitido)) {
+                        horarios.add(horario);
+                    }
+                }
+            }
+            if (!horarios.isEmpty()) {
+                disponibilidade.add(new DadosDisponibilidadeMedico(idMedico, horarios));
+            }
+        }
+        return disponibilidade;
+    }
+}
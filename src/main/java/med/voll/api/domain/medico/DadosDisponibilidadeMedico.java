@@ -0,0 +1,7 @@
+package med.voll.api.domain.medico;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DadosDisponibilidadeMedico(Long idMedico, List<LocalDateTime> horarios) {
+}
@@ -0,0 +1,16 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.infra.http.VersaoDoRegistro;
+
+// Linha da listagem com a versão, para montar a página e o ETag com uma única query
+public record DadosListagemMedicoComVersao(Long id, String nome, String email, String crm, Especialidade especialidade,
+                                           Long versao) {
+
+    public DadosListagemMedico dados() {
+        return new DadosListagemMedico(id, nome, email, crm, especialidade);
+    }
+
+    public VersaoDoRegistro versaoDoRegistro() {
+        return new VersaoDoRegistro(id, versao);
+    }
+}
@@ -1,19 +1,24 @@
 package med.voll.api.domain.medico;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import med.voll.api.domain.endereco.Endereco;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -22,6 +27,9 @@ import med.voll.api.domain.endereco.Endereco;
 @EqualsAndHashCode(of = "id")
 @Table(name = "medicos")
 @Entity(name = "Medico")
+@EntityListeners(MedicoListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medicos")
 public class Medico {
     
     @Id
@@ -36,6 +44,8 @@ public class Medico {
     @Embedded
     private Endereco endereco;
     private Boolean ativo;
+    @Version
+    private Long versao;
     
     public Medico(DadosCadastroMedico dados) {
         this.ativo = true;
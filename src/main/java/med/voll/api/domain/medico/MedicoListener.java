@@ -0,0 +1,20 @@
+package med.voll.api.domain.medico;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import med.voll.api.infra.transacao.AposCommit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Instanciado pelo Hibernate via Spring; fora do contexto completo (ex.: @DataJpaTest) o seletor não existe
+public class MedicoListener {
+
+    @Autowired
+    private ObjectProvider<SeletorDeMedicoLivre> seletorDeMedicoLivre;
+
+    @PostPersist
+    @PostUpdate
+    public void aoSalvar(Medico medico) {
+        seletorDeMedicoLivre.ifAvailable(seletor -> AposCommit.executar(() -> seletor.atualizar(medico)));
+    }
+}
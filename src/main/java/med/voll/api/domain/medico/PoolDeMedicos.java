@@ -0,0 +1,97 @@
+package med.voll.api.domain.medico;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Conjunto dos médicos ativos de uma especialidade, guardado em um array denso
+ * para permitir sorteio por índice em O(1) e remoção por troca com o último.
+ */
+class PoolDeMedicos {
+
+    private static final int TENTATIVAS_DE_SORTEIO = 8;
+
+    private final List<Long> ids = new ArrayList<>();
+    private final Map<Long, Integer> posicoes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void adicionar(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (!posicoes.containsKey(id)) {
+                posicoes.put(id, ids.size());
+                ids.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            var posicao = posicoes.remove(id);
+            if (posicao == null) {
+                return;
+            }
+            var ultimo = ids.remove(ids.size() - 1);
+            if (!ultimo.equals(id)) {
+                ids.set(posicao, ultimo);
+                posicoes.put(ultimo, posicao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Long> ids() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Sorteia um médico fora de "ocupados" com probabilidade uniforme. Primeiro tenta
+     * por rejeição, que costuma acertar em poucas tentativas quando a maioria está livre;
+     * se não acertar, faz uma amostragem de reservatório sobre o pool inteiro.
+     */
+    Long sortearLivre(Set<Long> ocupados) {
+        lock.readLock().lock();
+        try {
+            var total = ids.size();
+            if (total == 0) {
+                return null;
+            }
+            var random = ThreadLocalRandom.current();
+            if (ocupados.isEmpty()) {
+                return ids.get(random.nextInt(total));
+            }
+            for (int i = 0; i < TENTATIVAS_DE_SORTEIO; i++) {
+                var id = ids.get(random.nextInt(total));
+                if (!ocupados.contains(id)) {
+                    return id;
+                }
+            }
+
+            Long escolhido = null;
+            var livres = 0;
+            for (Long id : ids) {
+                if (!ocupados.contains(id) && random.nextInt(++livres) == 0) {
+                    escolhido = id;
+                }
+            }
+            return escolhido;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package med.voll.api.domain.medico;
+
+import jakarta.annotation.PostConstruct;
+import med.voll.api.domain.consulta.OcupacaoDeHorarios;
+import med.voll.api.repository.MedicoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Substitui o "order by rand()" de MedicoRepository.escolherMedicoAleatorioLivreNaData:
+ * mantém em memória os médicos ativos de cada especialidade e sorteia um que não
+ * esteja ocupado no horário, segundo a OcupacaoDeHorarios.
+ */
+@Component
+public class SeletorDeMedicoLivre {
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private OcupacaoDeHorarios ocupacaoDeHorarios;
+
+    private final Map<Especialidade, PoolDeMedicos> pools = new EnumMap<>(Especialidade.class);
+
+    public SeletorDeMedicoLivre() {
+        for (Especialidade especialidade : Especialidade.values()) {
+            pools.put(especialidade, new PoolDeMedicos());
+        }
+    }
+
+    @PostConstruct
+    public void carregar() {
+        medicoRepository.buscarEspecialidadesDosMedicosAtivos()
+                .forEach(m -> adicionar(m.id(), m.especialidade()));
+    }
+
+    public Long sortear(Especialidade especialidade, LocalDateTime data) {
+        return sortear(especialidade, ocupacaoDeHorarios.medicosOcupados(data));
+    }
+
+    public Long sortear(Especialidade especialidade, Set<Long> ocupados) {
+        return pools.get(especialidade).sortearLivre(ocupados);
+    }
+
+    public List<Long> medicosAtivos(Especialidade especialidade) {
+        return pools.get(especialidade).ids();
+    }
+
+    public void adicionar(Long id, Especialidade especialidade) {
+        pools.get(especialidade).adicionar(id);
+    }
+
+    public void remover(Long id, Especialidade especialidade) {
+        pools.get(especialidade).remover(id);
+    }
+
+    void atualizar(Medico medico) {
+        if (Boolean.TRUE.equals(medico.getAtivo())) {
+            adicionar(medico.getId(), medico.getEspecialidade());
+        } else {
+            remover(medico.getId(), medico.getEspecialidade());
+        }
+    }
+}
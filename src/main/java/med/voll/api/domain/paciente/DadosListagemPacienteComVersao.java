@@ -0,0 +1,15 @@
+package med.voll.api.domain.paciente;
+
+import med.voll.api.infra.http.VersaoDoRegistro;
+
+// Linha da listagem com a versão, para montar a página e o ETag com uma única query
+public record DadosListagemPacienteComVersao(Long id, String nome, String email, Long versao) {
+
+    public DadosListagemPaciente dados() {
+        return new DadosListagemPaciente(id, nome, email);
+    }
+
+    public VersaoDoRegistro versaoDoRegistro() {
+        return new VersaoDoRegistro(id, versao);
+    }
+}
@@ -1,16 +1,20 @@
 package med.voll.api.domain.paciente;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import med.voll.api.domain.endereco.Endereco;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @EqualsAndHashCode(of = "id")
@@ -18,6 +22,8 @@ import med.voll.api.domain.endereco.Endereco;
 @AllArgsConstructor
 @Entity(name = "Paciente")
 @Table(name = "pacientes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pacientes")
 public class Paciente {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,6 +38,9 @@ public class Paciente {
     @Embedded
     private Endereco endereco;
 
+    @Version
+    private Long versao;
+
     public Paciente(DadosCadastroPaciente dados) {
         this.ativo = true;
         this.nome = dados.nome();
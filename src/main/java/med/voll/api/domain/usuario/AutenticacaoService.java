@@ -3,12 +3,14 @@ package med.voll.api.domain.usuario;
 import med.voll.api.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class AutenticacaoService implements UserDetailsService {
+public class AutenticacaoService implements UserDetailsService, UserDetailsPasswordService {
 
 
     @Autowired
@@ -18,4 +20,13 @@ public class AutenticacaoService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return usuarioRepository.findByLogin(username);
     }
+
+    // Chamado pelo Spring Security após um login válido cuja senha foi gerada com força menor que a atual
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var usuario = (Usuario) usuarioRepository.findByLogin(user.getUsername());
+        usuario.setSenha(newPassword);
+        return usuario;
+    }
 }
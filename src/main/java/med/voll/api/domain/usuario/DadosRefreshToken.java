@@ -0,0 +1,6 @@
+package med.voll.api.domain.usuario;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record DadosRefreshToken(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,66 @@
+package med.voll.api.domain.usuario;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * Só o hash do refresh token é gravado. Tokens renovados a partir de um mesmo login
+ * formam uma família: se um token já usado ou revogado reaparece, a família inteira é revogada.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Table(name = "refresh_tokens")
+@Entity(name = "RefreshToken")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id")
+    private Usuario usuario;
+
+    private String hash;
+    private String familia;
+
+    @Column(name = "expira_em")
+    private LocalDateTime expiraEm;
+
+    @Column(name = "revogado_em")
+    private LocalDateTime revogadoEm;
+
+    public RefreshToken(Usuario usuario, String hash, String familia, LocalDateTime expiraEm) {
+        this.usuario = usuario;
+        this.hash = hash;
+        this.familia = familia;
+        this.expiraEm = expiraEm;
+    }
+
+    public boolean isRevogado() {
+        return revogadoEm != null;
+    }
+
+    public boolean isExpirado() {
+        return expiraEm.isBefore(LocalDateTime.now());
+    }
+
+    public void revogar() {
+        this.revogadoEm = LocalDateTime.now();
+    }
+}
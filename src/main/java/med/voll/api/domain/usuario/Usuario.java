@@ -16,6 +16,7 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 @Table(name = "usuarios")
 @Entity(name = "Usuario")
+@EntityListeners(UsuarioListener.class)
 public class Usuario implements UserDetails {
 
     @Id
@@ -0,0 +1,20 @@
+package med.voll.api.domain.usuario;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import med.voll.api.infra.security.CacheDeAutenticacao;
+import med.voll.api.infra.transacao.AposCommit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class UsuarioListener {
+
+    @Autowired
+    private ObjectProvider<CacheDeAutenticacao> cacheDeAutenticacao;
+
+    @PostUpdate
+    @PostRemove
+    public void aoAlterar(Usuario usuario) {
+        cacheDeAutenticacao.ifAvailable(cache -> AposCommit.executar(() -> cache.invalidar(usuario.getLogin())));
+    }
+}
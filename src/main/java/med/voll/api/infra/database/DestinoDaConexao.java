@@ -0,0 +1,6 @@
+package med.voll.api.infra.database;
+
+enum DestinoDaConexao {
+    PRIMARIO,
+    REPLICA
+}
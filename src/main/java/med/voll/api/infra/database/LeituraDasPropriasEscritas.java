@@ -0,0 +1,68 @@
+package med.voll.api.infra.database;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Depois que um usuário escreve (qualquer método que não seja de leitura, com sucesso), as
+ * leituras dele ficam no primário durante a janela configurada, para que ele veja o que acabou
+ * de gravar mesmo que a réplica ainda não tenha recebido.
+ */
+class LeituraDasPropriasEscritas extends OncePerRequestFilter {
+
+    private static final Set<String> METODOS_DE_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+    private static final ThreadLocal<Boolean> PRIMARIO_OBRIGATORIO = new ThreadLocal<>();
+
+    private final Duration janela;
+    private final Map<String, Instant> ultimaEscritaPorLogin = new ConcurrentHashMap<>();
+
+    LeituraDasPropriasEscritas(Duration janela) {
+        this.janela = janela;
+    }
+
+    static boolean primarioObrigatorio() {
+        return Boolean.TRUE.equals(PRIMARIO_OBRIGATORIO.get());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
+    ) throws ServletException, IOException {
+        var login = loginAtual();
+        var escrita = !METODOS_DE_LEITURA.contains(request.getMethod());
+        if (login != null && !escrita) {
+            var ultimaEscrita = ultimaEscritaPorLogin.get(login);
+            if (ultimaEscrita != null) {
+                if (ultimaEscrita.plus(janela).isAfter(Instant.now())) {
+                    PRIMARIO_OBRIGATORIO.set(true);
+                } else {
+                    ultimaEscritaPorLogin.remove(login, ultimaEscrita);
+                }
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PRIMARIO_OBRIGATORIO.remove();
+            if (login != null && escrita && response.getStatus() < 400) {
+                ultimaEscritaPorLogin.put(login, Instant.now());
+            }
+        }
+    }
+
+    private String loginAtual() {
+        var autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao == null || !autenticacao.isAuthenticated() ? null : autenticacao.getName();
+    }
+}
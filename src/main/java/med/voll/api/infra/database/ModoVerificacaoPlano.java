@@ -0,0 +1,7 @@
+package med.voll.api.infra.database;
+
+public enum ModoVerificacaoPlano {
+    DESLIGADO,
+    AVISO,
+    FALHA;
+}
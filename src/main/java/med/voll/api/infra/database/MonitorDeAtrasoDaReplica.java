@@ -0,0 +1,58 @@
+package med.voll.api.infra.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+ * Consulta periodicamente o atraso da réplica; acima do limite (ou em erro) as leituras voltam ao primário.
+ * O resultado vale por duas verificações: se o agendador atrasar e ninguém medir de novo, a réplica
+ * também sai do roteamento, em vez de seguir recebendo leituras com base numa medição velha.
+ */
+class MonitorDeAtrasoDaReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorDeAtrasoDaReplica.class);
+
+    private final JdbcTemplate replica;
+    private final Duration atrasoMaximo;
+    private final long validadeEmNanos;
+    private volatile boolean utilizavel;
+    // System.nanoTime() da última verificação concluída
+    private volatile long verificadaEm;
+
+    MonitorDeAtrasoDaReplica(DataSource replica, Duration atrasoMaximo, Duration intervaloVerificacao) {
+        this.replica = new JdbcTemplate(replica);
+        this.atrasoMaximo = atrasoMaximo;
+        this.validadeEmNanos = intervaloVerificacao.multipliedBy(2).toNanos();
+    }
+
+    boolean replicaUtilizavel() {
+        return utilizavel && System.nanoTime() - verificadaEm <= validadeEmNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.replica.intervalo-verificacao:5s}")
+    public void verificar() {
+        boolean agora;
+        try {
+            // sem linhas: não é uma réplica de verdade (ex.: outro schema usado localmente), então não há atraso
+            var atrasos = replica.query("show replica status", (linha, i) -> linha.getObject("Seconds_Behind_Source", Long.class));
+            var atraso = atrasos.isEmpty() ? Long.valueOf(0) : atrasos.get(0);
+            agora = atraso != null && atraso <= atrasoMaximo.toSeconds();
+        } catch (RuntimeException e) {
+            log.debug("Não foi possível verificar a réplica: {}", e.getMessage());
+            agora = false;
+        }
+        if (agora != utilizavel) {
+            log.atWarn()
+                    .setMessage(agora ? "réplica voltou a receber leituras" : "réplica fora do roteamento de leituras")
+                    .addKeyValue("atrasoMaximo", atrasoMaximo)
+                    .log();
+        }
+        verificadaEm = System.nanoTime();
+        utilizavel = agora;
+    }
+}
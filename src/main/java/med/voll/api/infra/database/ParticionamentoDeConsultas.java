@@ -0,0 +1,128 @@
+package med.voll.api.infra.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/*
+ * Mantém as partições mensais de consultas (ver V15__ParticionarConsultasPorMes): cria as dos
+ * próximos meses a partir da "pfuturo" e move os meses encerrados há mais de "meses-retidos" para
+ * consultas_arquivo, descartando a partição inteira (drop partition), sem delete linha a linha.
+ * Roda numa única conexão, com get_lock, para que só uma instância altere a tabela por vez.
+ */
+@Component
+public class ParticionamentoDeConsultas {
+
+    private static final Logger log = LoggerFactory.getLogger(ParticionamentoDeConsultas.class);
+
+    private static final String TRAVA = "particionamento-consultas";
+    static final DateTimeFormatter NOME_DA_PARTICAO = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.consultas.particoes.meses-a-frente:3}")
+    private int mesesAFrente;
+
+    @Value("${api.consultas.arquivo.meses-retidos:12}")
+    private int mesesRetidos;
+
+    @Scheduled(cron = "0 0 4 * * *")
+    public void manter() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+            try (var statement = conexao.createStatement()) {
+                if (!travar(statement)) {
+                    log.info("Particionamento de consultas já está rodando em outra instância");
+                    return null;
+                }
+                try {
+                    var meses = mesesParticionados(statement);
+                    criarParticoesFuturas(statement, meses);
+                    arquivarMesesEncerrados(conexao, statement, meses);
+                } finally {
+                    statement.execute("do release_lock('" + TRAVA + "')");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void criarParticoesFuturas(Statement statement, List<YearMonth> meses) throws SQLException {
+        var ultimo = YearMonth.now().plusMonths(mesesAFrente);
+        var mes = meses.isEmpty() ? YearMonth.now() : meses.get(meses.size() - 1).plusMonths(1);
+        if (mes.isAfter(ultimo)) {
+            return;
+        }
+
+        var novas = new StringJoiner(", ");
+        for (; !mes.isAfter(ultimo); mes = mes.plusMonths(1)) {
+            novas.add("partition %s values less than ('%s')".formatted(mes.format(NOME_DA_PARTICAO), mes.plusMonths(1).atDay(1)));
+        }
+        novas.add("partition pfuturo values less than (maxvalue)");
+        statement.execute("alter table consultas reorganize partition pfuturo into (" + novas + ")");
+        log.atInfo()
+                .setMessage("partições de consultas criadas")
+                .addKeyValue("ate", ultimo)
+                .log();
+    }
+
+    private void arquivarMesesEncerrados(Connection conexao, Statement statement, List<YearMonth> meses) throws SQLException {
+        var limite = YearMonth.now().minusMonths(mesesRetidos);
+        for (var mes : meses) {
+            if (!mes.isBefore(limite)) {
+                return;
+            }
+            var particao = mes.format(NOME_DA_PARTICAO);
+            // insert ignore: se uma execução anterior caiu antes do drop, o mês é copiado de novo sem duplicar
+            var arquivadas = statement.executeUpdate("""
+                    insert ignore into consultas_arquivo (id, medico_id, paciente_id, data, motivo_cancelamento, arquivada_em)
+                    select id, medico_id, paciente_id, data, motivo_cancelamento, now() from consultas partition (%s)
+                    """.formatted(particao));
+            try (var limpeza = conexao.prepareStatement("delete from consultas_pacientes_dia where dia >= ? and dia < ?")) {
+                limpeza.setObject(1, mes.atDay(1));
+                limpeza.setObject(2, mes.plusMonths(1).atDay(1));
+                limpeza.executeUpdate();
+            }
+            statement.execute("alter table consultas drop partition " + particao);
+            log.atInfo()
+                    .setMessage("mês de consultas arquivado")
+                    .addKeyValue("mes", mes)
+                    .addKeyValue("consultas", arquivadas)
+                    .log();
+        }
+    }
+
+    private boolean travar(Statement statement) throws SQLException {
+        try (var resultado = statement.executeQuery("select get_lock('" + TRAVA + "', 0)")) {
+            return resultado.next() && resultado.getInt(1) == 1;
+        }
+    }
+
+    private List<YearMonth> mesesParticionados(Statement statement) throws SQLException {
+        var meses = new ArrayList<YearMonth>();
+        try (var resultado = statement.executeQuery("""
+                select partition_name from information_schema.partitions
+                where table_schema = database() and table_name = 'consultas' and partition_name <> 'pfuturo'
+                order by partition_ordinal_position
+                """)) {
+            while (resultado.next()) {
+                meses.add(YearMonth.parse(resultado.getString(1), NOME_DA_PARTICAO));
+            }
+        }
+        return meses;
+    }
+}
@@ -0,0 +1,84 @@
+package med.voll.api.infra.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/*
+ * Ativa só quando api.datasource.replica.url está configurada; sem ela a aplicação usa o
+ * datasource único do Spring Boot, como antes. O Flyway sempre migra o primário.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.datasource.replica.url")
+public class ReplicaDeLeituraConfigurations {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("api.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(
+            @Value("${api.datasource.replica.url}") String url,
+            @Value("${api.datasource.replica.username:${spring.datasource.username}}") String usuario,
+            @Value("${api.datasource.replica.password:${spring.datasource.password}}") String senha
+    ) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(senha)
+                .build();
+    }
+
+    @Bean
+    MonitorDeAtrasoDaReplica monitorDeAtrasoDaReplica(
+            @Qualifier("dataSourceReplica") DataSource replica,
+            @Value("${api.datasource.replica.atraso-maximo:5s}") Duration atrasoMaximo,
+            @Value("${api.datasource.replica.intervalo-verificacao:5s}") Duration intervaloVerificacao
+    ) {
+        return new MonitorDeAtrasoDaReplica(replica, atrasoMaximo, intervaloVerificacao);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            @Qualifier("dataSourceReplica") DataSource replica,
+            MonitorDeAtrasoDaReplica monitor
+    ) {
+        var roteador = new RoteadorDeDataSource(monitor);
+        roteador.setTargetDataSources(Map.of(
+                DestinoDaConexao.PRIMARIO, primario,
+                DestinoDaConexao.REPLICA, replica));
+        roteador.setDefaultTargetDataSource(primario);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+
+    @Bean
+    FilterRegistrationBean<LeituraDasPropriasEscritas> leituraDasPropriasEscritas(
+            @Value("${api.datasource.replica.janela-leitura-propria:5s}") Duration janela
+    ) {
+        var registro = new FilterRegistrationBean<>(new LeituraDasPropriasEscritas(janela));
+        registro.addUrlPatterns("/*");
+        return registro;
+    }
+}
@@ -0,0 +1,28 @@
+package med.voll.api.infra.database;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Transações readOnly vão para a réplica; todo o resto, para o primário. Continua no primário
+ * quando o usuário acabou de escrever (leitura das próprias escritas) ou quando a réplica está
+ * atrasada demais. Precisa ficar atrás de um LazyConnectionDataSourceProxy, senão a conexão é
+ * obtida antes de a transação ser marcada como readOnly.
+ */
+class RoteadorDeDataSource extends AbstractRoutingDataSource {
+
+    private final MonitorDeAtrasoDaReplica monitor;
+
+    RoteadorDeDataSource(MonitorDeAtrasoDaReplica monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (somenteLeitura && !LeituraDasPropriasEscritas.primarioObrigatorio() && monitor.replicaUtilizavel()) {
+            return DestinoDaConexao.REPLICA;
+        }
+        return DestinoDaConexao.PRIMARIO;
+    }
+}
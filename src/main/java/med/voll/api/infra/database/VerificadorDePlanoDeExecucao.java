@@ -0,0 +1,127 @@
+package med.voll.api.infra.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Roda EXPLAIN nas queries quentes dos repositórios ao subir a aplicação e avisa (ou
+ * impede a subida) quando alguma delas faria full table scan por falta de índice.
+ * O SQL de cada item espelha a query que o Hibernate gera para o método indicado;
+ * ao criar ou alterar uma query quente nos repositórios, atualize a lista abaixo.
+ * As queries por período de consultas também não podem ler partições de meses anteriores ao início.
+ */
+@Component
+public class VerificadorDePlanoDeExecucao {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorDePlanoDeExecucao.class);
+
+    private static final Set<String> DEVEM_PODAR_PARTICOES = Set.of(
+            "ConsultaRepository.buscarHorariosOcupadosAPartirDe",
+            "ConsultaRepository.buscarLembretesEntre");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.database.verificacao-plano:aviso}")
+    private ModoVerificacaoPlano modo;
+
+    private record QueryMonitorada(String metodo, String sql, Object... parametros) {
+    }
+
+    // As queries de consultas começam em "data"
+    private static List<QueryMonitorada> queriesMonitoradas(LocalDateTime data) {
+        return List.of(
+                new QueryMonitorada("ConsultaRepository.buscarHorariosOcupadosAPartirDe",
+                        "select c.medico_id, c.paciente_id, c.data from consultas c where c.data >= ? and c.motivo_cancelamento is null",
+                        data),
+                new QueryMonitorada("ConsultaRepository.buscarLembretesEntre",
+                        "select c.id, c.medico_id, c.paciente_id, c.data from consultas c where c.data > ? and c.data <= ? and c.motivo_cancelamento is null",
+                        data, data.plusHours(1)),
+                new QueryMonitorada("OutboxJdbcRepository.travarPendentes",
+                        "select id, tipo, payload, criado_em, tentativas from eventos_outbox where enviado_em is null and descartado_em is null and proxima_tentativa_em <= ? order by id limit 500",
+                        data),
+                new QueryMonitorada("RefreshTokenRepository.buscarPorHash",
+                        "select r.id, u.login from refresh_tokens r join usuarios u on u.id = r.usuario_id where r.hash = ?",
+                        "0".repeat(64)),
+                new QueryMonitorada("MedicoRepository.buscarVersoesDosAtivos",
+                        "select m.id, m.versao from medicos m where m.ativo = 1 order by m.nome limit 10"),
+                new QueryMonitorada("MedicoRepository.listarAtivosComVersao",
+                        "select m.id, m.nome, m.email, m.crm, m.especialidade, m.versao from medicos m where m.ativo = 1 order by m.nome limit 10"),
+                new QueryMonitorada("MedicoRepository.findAtivoById",
+                        "select m.ativo from medicos m where m.id = ?",
+                        1L),
+                new QueryMonitorada("MedicoRepository.buscarEspecialidadesDosMedicosAtivos",
+                        "select m.id, m.especialidade from medicos m where m.ativo = 1"),
+                new QueryMonitorada("PacienteRepository.buscarVersoesDosAtivos",
+                        "select p.id, p.versao from pacientes p where p.ativo = 1 order by p.nome limit 10"),
+                new QueryMonitorada("PacienteRepository.listarAtivosComVersao",
+                        "select p.id, p.nome, p.email, p.versao from pacientes p where p.ativo = 1 order by p.nome limit 10"),
+                new QueryMonitorada("PacienteRepository.findAtivoById",
+                        "select p.ativo from pacientes p where p.id = ?",
+                        1L),
+                new QueryMonitorada("UsuarioRepository.findByLogin",
+                        "select u.id from usuarios u where u.login = ?",
+                        "login")
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        if (modo == ModoVerificacaoPlano.DESLIGADO) {
+            return;
+        }
+
+        var data = LocalDateTime.now().withHour(10).withMinute(0).withSecond(0).withNano(0);
+        var primeiraParticao = data.format(ParticionamentoDeConsultas.NOME_DA_PARTICAO);
+        var problemas = new ArrayList<String>();
+        for (var query : queriesMonitoradas(data)) {
+            try {
+                var plano = jdbcTemplate.queryForList("explain " + query.sql(), query.parametros());
+                plano.stream()
+                        .filter(this::fazFullScanSemIndice)
+                        .forEach(linha -> problemas.add(query.metodo() + " faz full table scan em " + linha.get("table")));
+                if (DEVEM_PODAR_PARTICOES.contains(query.metodo())) {
+                    plano.stream()
+                            .filter(linha -> leParticoesAnteriores(linha, primeiraParticao))
+                            .forEach(linha -> problemas.add(query.metodo() + " lê partições anteriores a "
+                                    + primeiraParticao + ": " + linha.get("partitions")));
+                }
+            } catch (DataAccessException e) {
+                log.warn("Não foi possível verificar o plano de {}: {}", query.metodo(), e.getMessage());
+            }
+        }
+
+        if (problemas.isEmpty()) {
+            return;
+        }
+        problemas.forEach(log::warn);
+        if (modo == ModoVerificacaoPlano.FALHA) {
+            throw new IllegalStateException("Queries sem índice adequado: " + problemas);
+        }
+    }
+
+    // Tabelas pequenas podem ser lidas inteiras mesmo com índice, então só o "ALL" sem nenhuma chave possível é tratado como problema
+    private boolean fazFullScanSemIndice(Map<String, Object> linha) {
+        return "ALL".equals(linha.get("type")) && linha.get("possible_keys") == null;
+    }
+
+    // Os nomes pAAAAMM ordenam como os meses; pfuturo vem depois de todos
+    private boolean leParticoesAnteriores(Map<String, Object> linha, String primeiraParticao) {
+        return linha.get("partitions") instanceof String particoes
+                && Arrays.stream(particoes.split(",")).anyMatch(particao -> particao.compareTo(primeiraParticao) < 0);
+    }
+}
@@ -2,6 +2,8 @@ package med.voll.api.infra.exceptions;
 
 import jakarta.persistence.EntityNotFoundException;
 import med.voll.api.domain.exception.ValidacaoException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import javax.naming.AuthenticationException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class TratadorDeErros {
@@ -60,6 +63,20 @@ public class TratadorDeErros {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado");
     }
 
+    // Restrição única do banco, por exemplo duas instâncias agendando o mesmo horário ao mesmo tempo
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity tratarErro409() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro em conflito com outro já existente");
+    }
+
+    // Fila do ExecutorDeLogin cheia: recusa rápido em vez de segurar a requisição
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity tratarErro429() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Muitas requisições, tente novamente em instantes");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity tratarErro500(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro: " +ex.getLocalizedMessage());
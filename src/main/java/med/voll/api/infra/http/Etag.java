@@ -0,0 +1,30 @@
+package med.voll.api.infra.http;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * ETags calculados só a partir de id e versão dos registros, para responder 304
+ * sem carregar as entidades nem serializar o corpo.
+ */
+public final class Etag {
+
+    private Etag() {
+    }
+
+    public static String deRegistro(Long id, Long versao) {
+        return id + "-" + versao;
+    }
+
+    // O total entra no cálculo porque o corpo da página também o expõe
+    public static String dePagina(Page<VersaoDoRegistro> versoes) {
+        var conteudo = new StringBuilder()
+                .append(versoes.getNumber()).append('/')
+                .append(versoes.getSize()).append('/')
+                .append(versoes.getTotalElements());
+        versoes.forEach(v -> conteudo.append(';').append(v.id()).append(':').append(v.versao()));
+        return DigestUtils.md5DigestAsHex(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,4 @@
+package med.voll.api.infra.http;
+
+public record VersaoDoRegistro(Long id, Long versao) {
+}
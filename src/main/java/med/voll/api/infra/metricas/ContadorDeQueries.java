@@ -0,0 +1,28 @@
+package med.voll.api.infra.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta os comandos SQL preparados pelo Hibernate na thread da requisição atual
+public class ContadorDeQueries implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    static int encerrar() {
+        var contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? 0 : contador[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+        return sql;
+    }
+}
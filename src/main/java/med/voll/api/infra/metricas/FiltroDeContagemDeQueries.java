@@ -0,0 +1,47 @@
+package med.voll.api.infra.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Registra quantos comandos SQL cada endpoint executou, para achar N+1 pelo histograma
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroDeContagemDeQueries extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
+    ) throws ServletException, IOException {
+        ContadorDeQueries.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var quantidade = ContadorDeQueries.encerrar();
+            var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+            DistributionSummary.builder("api.sql.queries")
+                    .description("Comandos SQL executados por requisição")
+                    .baseUnit("queries")
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .tag("method", request.getMethod())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(quantidade);
+        }
+    }
+}
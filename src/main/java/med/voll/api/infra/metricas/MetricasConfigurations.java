@@ -0,0 +1,15 @@
+package med.voll.api.infra.metricas;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfigurations {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorDeQueries() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorDeQueries());
+    }
+}
@@ -0,0 +1,42 @@
+package med.voll.api.infra.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Destino padrão: acrescenta cada evento como uma linha JSON em um arquivo local (substituto de uma fila)
+public class ArquivoDeEventos implements DestinoDeEventos {
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ArquivoDeEventos(Path arquivo, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void enviar(List<EventoOutbox> eventos) throws IOException {
+        var linhas = new StringBuilder();
+        for (var evento : eventos) {
+            linhas.append(objectMapper.writeValueAsString(evento)).append('\n');
+        }
+        lock.lock();
+        try {
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+            Files.writeString(arquivo, linhas, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
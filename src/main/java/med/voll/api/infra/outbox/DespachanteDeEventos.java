@@ -0,0 +1,174 @@
+package med.voll.api.infra.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Esvazia o outbox em lotes. Cada lote é travado, enviado e marcado na mesma transação. Se o
+ * envio do lote falhar, o primeiro evento é reenviado sozinho: se também falhar, o destino está
+ * fora e o lote inteiro é adiado com espera exponencial, sem contar tentativa nos eventos; se
+ * passar, os demais seguem um a um e só os que falharem sozinhos contam tentativa, até serem
+ * descartados no máximo de tentativas. Em qualquer falha o ciclo para ali, para não empurrar
+ * mais eventos a um destino que não está dando conta.
+ */
+@Component
+public class DespachanteDeEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachanteDeEventos.class);
+
+    @Autowired
+    private OutboxJdbcRepository repository;
+
+    @Autowired
+    private DestinoDeEventos destino;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.outbox.tamanho-lote:500}")
+    private int tamanhoDoLote;
+
+    @Value("${api.outbox.lotes-por-ciclo:20}")
+    private int lotesPorCiclo;
+
+    @Value("${api.outbox.espera-inicial:1s}")
+    private Duration esperaInicial;
+
+    @Value("${api.outbox.espera-maxima:5m}")
+    private Duration esperaMaxima;
+
+    // Falhas sozinhas, com o destino no ar, até o evento ser marcado como descartado e sair da fila (consultar por descartado_em)
+    @Value("${api.outbox.maximo-tentativas:10}")
+    private int maximoDeTentativas;
+
+    @Value("${api.outbox.retencao:7d}")
+    private Duration retencao;
+
+    private Counter enviados;
+    private Counter falhas;
+    private Counter descartes;
+
+    // Lotes seguidos em que o destino estava fora; define a espera do próximo adiamento
+    private int falhasSeguidasDoDestino;
+
+    @PostConstruct
+    public void registrarMetricas() {
+        enviados = meterRegistry.counter("api.outbox.eventos", "resultado", "enviado");
+        falhas = meterRegistry.counter("api.outbox.eventos", "resultado", "falha");
+        descartes = meterRegistry.counter("api.outbox.eventos", "resultado", "descartado");
+    }
+
+    @Scheduled(fixedDelayString = "${api.outbox.intervalo:1s}")
+    public void despachar() {
+        for (int i = 0; i < lotesPorCiclo; i++) {
+            var resultado = transactionTemplate.execute(status -> despacharLote());
+            if (resultado == null || resultado < tamanhoDoLote) {
+                return;
+            }
+        }
+    }
+
+    // Retorna quantos eventos foram enviados, ou null se algum evento do lote falhou
+    private Integer despacharLote() {
+        var eventos = repository.travarPendentes(tamanhoDoLote);
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            destino.enviar(eventos);
+            repository.marcarEnviados(eventos);
+            enviados.increment(eventos.size());
+            falhasSeguidasDoDestino = 0;
+            return eventos.size();
+        } catch (Exception e) {
+            log.atWarn()
+                    .setMessage("falha ao enviar lote do outbox")
+                    .addKeyValue("eventos", eventos.size())
+                    .setCause(e)
+                    .log();
+        }
+
+        if (!enviarSozinho(eventos.get(0))) {
+            var espera = espera(falhasSeguidasDoDestino++);
+            repository.adiar(eventos, LocalDateTime.now().plus(espera));
+            falhas.increment(eventos.size());
+            log.atWarn()
+                    .setMessage("destino de eventos indisponível, lote adiado")
+                    .addKeyValue("eventos", eventos.size())
+                    .addKeyValue("espera", espera)
+                    .log();
+            return null;
+        }
+        falhasSeguidasDoDestino = 0;
+
+        // O destino está no ar: um a um, para que um evento que ele recusa não prenda os outros do lote
+        var enviadosUmAUm = new ArrayList<EventoOutbox>();
+        var falhos = new ArrayList<EventoOutbox>();
+        enviadosUmAUm.add(eventos.get(0));
+        for (var evento : eventos.subList(1, eventos.size())) {
+            if (enviarSozinho(evento)) {
+                enviadosUmAUm.add(evento);
+            } else {
+                falhos.add(evento);
+            }
+        }
+        repository.marcarEnviados(enviadosUmAUm);
+        enviados.increment(enviadosUmAUm.size());
+
+        var descartados = falhos.stream().filter(evento -> evento.tentativas() + 1 >= maximoDeTentativas).toList();
+        var reagendados = falhos.stream().filter(evento -> evento.tentativas() + 1 < maximoDeTentativas).toList();
+        repository.reagendar(reagendados, evento -> LocalDateTime.now().plus(espera(evento.tentativas())));
+        repository.descartar(descartados);
+        falhas.increment(reagendados.size());
+        descartes.increment(descartados.size());
+        descartados.forEach(evento -> log.atError()
+                .setMessage("evento do outbox descartado após o máximo de tentativas")
+                .addKeyValue("id", evento.id())
+                .addKeyValue("tipo", evento.tipo())
+                .addKeyValue("tentativas", evento.tentativas() + 1)
+                .log());
+        return falhos.isEmpty() ? enviadosUmAUm.size() : null;
+    }
+
+    private boolean enviarSozinho(EventoOutbox evento) {
+        try {
+            destino.enviar(List.of(evento));
+            return true;
+        } catch (Exception e) {
+            log.atDebug()
+                    .setMessage("falha ao enviar evento do outbox")
+                    .addKeyValue("id", evento.id())
+                    .setCause(e)
+                    .log();
+            return false;
+        }
+    }
+
+    private Duration espera(int tentativas) {
+        var espera = esperaInicial.multipliedBy(1L << Math.min(tentativas, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void excluirEnviados() {
+        var excluidos = repository.excluirEnviadosAntesDe(LocalDateTime.now().minus(retencao));
+        log.info("Eventos enviados excluídos do outbox: {}", excluidos);
+    }
+}
@@ -0,0 +1,13 @@
+package med.voll.api.infra.outbox;
+
+import java.util.List;
+
+/*
+ * Para onde o despachante entrega os eventos do outbox. A entrega é "pelo menos uma vez":
+ * se a chamada falhar ou a aplicação cair antes de marcar o lote como enviado, o lote é
+ * reenviado, então o destino deve tolerar repetidos (o id do evento serve para deduplicar).
+ */
+public interface DestinoDeEventos {
+
+    void enviar(List<EventoOutbox> eventos) throws Exception;
+}
@@ -0,0 +1,8 @@
+package med.voll.api.infra.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+public record EventoOutbox(Long id, String tipo, @JsonRawValue String payload, LocalDateTime criadoEm, int tentativas) {
+}
@@ -0,0 +1,21 @@
+package med.voll.api.infra.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class OutboxConfigurations {
+
+    // Basta declarar outro DestinoDeEventos (ex.: um produtor de fila) para substituir o arquivo
+    @Bean
+    @ConditionalOnMissingBean(DestinoDeEventos.class)
+    public DestinoDeEventos arquivoDeEventos(@Value("${api.outbox.arquivo:eventos/consultas.ndjson}") Path arquivo,
+                                             ObjectMapper objectMapper) {
+        return new ArquivoDeEventos(arquivo, objectMapper);
+    }
+}
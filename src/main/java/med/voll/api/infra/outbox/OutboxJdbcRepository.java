@@ -0,0 +1,93 @@
+package med.voll.api.infra.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+@Repository
+public class OutboxJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void inserirEmLote(List<EventoOutbox> eventos) {
+        jdbcTemplate.batchUpdate(
+                "insert into eventos_outbox (tipo, payload, criado_em, proxima_tentativa_em) values (?, ?, ?, ?)",
+                eventos, eventos.size(), (statement, evento) -> {
+                    statement.setString(1, evento.tipo());
+                    statement.setString(2, evento.payload());
+                    statement.setTimestamp(3, Timestamp.valueOf(evento.criadoEm()));
+                    statement.setTimestamp(4, Timestamp.valueOf(evento.criadoEm()));
+                });
+    }
+
+    // "skip locked" deixa várias instâncias despacharem em paralelo sem pegar o mesmo evento
+    public List<EventoOutbox> travarPendentes(int limite) {
+        return jdbcTemplate.query("""
+                        select id, tipo, payload, criado_em, tentativas
+                        from eventos_outbox
+                        where enviado_em is null and descartado_em is null and proxima_tentativa_em <= ?
+                        order by id
+                        limit ?
+                        for update skip locked
+                        """,
+                (linha, i) -> new EventoOutbox(
+                        linha.getLong("id"),
+                        linha.getString("tipo"),
+                        linha.getString("payload"),
+                        linha.getTimestamp("criado_em").toLocalDateTime(),
+                        linha.getInt("tentativas")),
+                Timestamp.valueOf(LocalDateTime.now()), limite);
+    }
+
+    public void marcarEnviados(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("update eventos_outbox set enviado_em = ? where id = ?",
+                eventos, eventos.size(), (statement, evento) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                    statement.setLong(2, evento.id());
+                });
+    }
+
+    // Adia sem contar tentativa: a falha foi do destino, não dos eventos
+    public void adiar(List<EventoOutbox> eventos, LocalDateTime proximaTentativa) {
+        jdbcTemplate.batchUpdate("update eventos_outbox set proxima_tentativa_em = ? where id = ?",
+                eventos, eventos.size(), (statement, evento) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(proximaTentativa));
+                    statement.setLong(2, evento.id());
+                });
+    }
+
+    public void reagendar(List<EventoOutbox> eventos, Function<EventoOutbox, LocalDateTime> proximaTentativa) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("update eventos_outbox set tentativas = tentativas + 1, proxima_tentativa_em = ? where id = ?",
+                eventos, eventos.size(), (statement, evento) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(proximaTentativa.apply(evento)));
+                    statement.setLong(2, evento.id());
+                });
+    }
+
+    public void descartar(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("update eventos_outbox set tentativas = tentativas + 1, descartado_em = ? where id = ?",
+                eventos, eventos.size(), (statement, evento) -> {
+                    statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                    statement.setLong(2, evento.id());
+                });
+    }
+
+    public int excluirEnviadosAntesDe(LocalDateTime limite) {
+        return jdbcTemplate.update("delete from eventos_outbox where enviado_em < ?", Timestamp.valueOf(limite));
+    }
+}
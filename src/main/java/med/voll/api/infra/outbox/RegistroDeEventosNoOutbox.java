@@ -0,0 +1,54 @@
+package med.voll.api.infra.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.consulta.ConsultaAgendada;
+import med.voll.api.domain.consulta.ConsultaCancelada;
+import med.voll.api.domain.consulta.LembreteDeConsulta;
+import med.voll.api.infra.transacao.AcumuladorTransacional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/*
+ * Grava os eventos de consulta no outbox na mesma transação que os gerou: se ela for desfeita,
+ * os eventos também são. Um agendamento em lote vira um único insert em lote antes do commit.
+ */
+@Component
+public class RegistroDeEventosNoOutbox {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AcumuladorTransacional<EventoOutbox> pendentes;
+
+    public RegistroDeEventosNoOutbox(OutboxJdbcRepository repository) {
+        this.pendentes = new AcumuladorTransacional<>(repository::inserirEmLote);
+    }
+
+    @EventListener
+    public void consultaAgendada(ConsultaAgendada evento) {
+        registrar(evento);
+    }
+
+    @EventListener
+    public void consultaCancelada(ConsultaCancelada evento) {
+        registrar(evento);
+    }
+
+    @EventListener
+    public void lembreteDeConsulta(LembreteDeConsulta evento) {
+        registrar(evento);
+    }
+
+    private void registrar(Object evento) {
+        try {
+            var payload = objectMapper.writeValueAsString(evento);
+            pendentes.adicionar(new EventoOutbox(null, evento.getClass().getSimpleName(), payload, LocalDateTime.now(), 0));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + evento, e);
+        }
+    }
+}
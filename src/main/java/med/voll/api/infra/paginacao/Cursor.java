@@ -0,0 +1,36 @@
+package med.voll.api.infra.paginacao;
+
+import med.voll.api.domain.exception.ValidacaoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/*
+ * Cursor opaco da paginação por keyset: a chave de ordenação e o id da última linha
+ * devolvida, em Base64, para que o cliente apenas o repasse na próxima requisição.
+ */
+public final class Cursor {
+
+    private static final String SEPARADOR = "\u001f";
+
+    private Cursor() {
+    }
+
+    public static String codificar(Object chave, Long id) {
+        var texto = chave + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <C> PosicaoCursor<C> decodificar(String cursor, Function<String, C> conversorDaChave) {
+        try {
+            var texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separador = texto.lastIndexOf(SEPARADOR);
+            return new PosicaoCursor<>(
+                    conversorDaChave.apply(texto.substring(0, separador)),
+                    Long.valueOf(texto.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidacaoException("Cursor inválido");
+        }
+    }
+}
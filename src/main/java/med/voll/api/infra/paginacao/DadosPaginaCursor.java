@@ -0,0 +1,30 @@
+package med.voll.api.infra.paginacao;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record DadosPaginaCursor<T>(List<T> conteudo, String proximoCursor) {
+
+    public static final int TAMANHO_MAXIMO = 100;
+
+    // Busca um item a mais que o tamanho pedido só para saber se existe próxima página, sem count
+    public static Pageable limite(int tamanho) {
+        return PageRequest.of(0, tamanhoValido(tamanho) + 1);
+    }
+
+    public static <T> DadosPaginaCursor<T> de(List<T> itens, int tamanho, Function<T, String> cursorDoItem) {
+        var tamanhoPagina = tamanhoValido(tamanho);
+        if (itens.size() <= tamanhoPagina) {
+            return new DadosPaginaCursor<>(itens, null);
+        }
+        var conteudo = itens.subList(0, tamanhoPagina);
+        return new DadosPaginaCursor<>(conteudo, cursorDoItem.apply(conteudo.get(tamanhoPagina - 1)));
+    }
+
+    private static int tamanhoValido(int tamanho) {
+        return Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO);
+    }
+}
@@ -0,0 +1,4 @@
+package med.voll.api.infra.paginacao;
+
+public record PosicaoCursor<C>(C chave, Long id) {
+}
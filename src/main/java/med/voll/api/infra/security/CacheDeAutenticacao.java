@@ -0,0 +1,67 @@
+package med.voll.api.infra.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Guarda, por hash do token, o usuário já autenticado, para que requisições com o mesmo
+ * token não refaçam a verificação do JWT nem a busca do usuário no banco. Cada entrada
+ * vale até a expiração do token, limitada pelo ttl configurado.
+ */
+@Component
+public class CacheDeAutenticacao {
+
+    @Value("${api.security.cache.tamanho-maximo:10000}")
+    private int tamanhoMaximo;
+
+    @Value("${api.security.cache.ttl:5m}")
+    private Duration ttl;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    private record Entrada(UserDetails usuario, Instant expiraEm) {
+    }
+
+    public UserDetails buscar(String tokenJWT) {
+        var chave = Hash.sha256(tokenJWT);
+        var entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm().isBefore(Instant.now())) {
+            entradas.remove(chave, entrada);
+            return null;
+        }
+        return entrada.usuario();
+    }
+
+    public void guardar(String tokenJWT, UserDetails usuario, Instant expiracaoDoToken) {
+        var limite = Instant.now().plus(ttl);
+        var expiraEm = expiracaoDoToken != null && expiracaoDoToken.isBefore(limite) ? expiracaoDoToken : limite;
+        if (entradas.size() >= tamanhoMaximo) {
+            liberarEspaco();
+        }
+        entradas.put(Hash.sha256(tokenJWT), new Entrada(usuario, expiraEm));
+    }
+
+    public void invalidar(String login) {
+        entradas.values().removeIf(entrada -> entrada.usuario().getUsername().equals(login));
+    }
+
+    private void liberarEspaco() {
+        var agora = Instant.now();
+        entradas.values().removeIf(entrada -> entrada.expiraEm().isBefore(agora));
+
+        var iterador = entradas.keySet().iterator();
+        while (entradas.size() >= tamanhoMaximo * 0.9 && iterador.hasNext()) {
+            iterador.next();
+            iterador.remove();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package med.voll.api.infra.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * Pool próprio para o login, que gasta CPU com o BCrypt: uma rajada de logins ocupa no
+ * máximo estas threads e esta fila, sem tomar as threads do Tomcat dos demais endpoints.
+ * Com a fila cheia a tarefa é recusada na hora (RejectedExecutionException, respondida com 429).
+ */
+@Component
+public class ExecutorDeLogin {
+
+    @Value("${api.security.login.threads:0}")
+    private int threads;
+
+    @Value("${api.security.login.fila:64}")
+    private int tamanhoDaFila;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void inicializar() {
+        var quantidade = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(quantidade, quantidade, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoDaFila),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "login", List.of()).bindTo(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> executar(Supplier<T> tarefa) throws RejectedExecutionException {
+        return CompletableFuture.supplyAsync(tarefa, executor);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,91 @@
+package med.voll.api.infra.security;
+
+import med.voll.api.domain.usuario.RefreshToken;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.repository.RefreshTokenRepository;
+import med.voll.api.security.DadosTokenJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/*
+ * Renovação do access token sem reenviar a senha: o refresh token é um valor aleatório,
+ * validado por busca do seu hash no índice único, sem BCrypt. Cada renovação revoga o
+ * token usado e emite outro da mesma família (rotação).
+ */
+@Service
+public class GerenciadorDeRefreshTokens {
+
+    private static final Logger log = LoggerFactory.getLogger(GerenciadorDeRefreshTokens.class);
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${api.security.refresh-token.validade:30d}")
+    private Duration validade;
+
+    @Transactional
+    public DadosTokenJWT autenticar(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID().toString());
+    }
+
+    // BadCredentialsException é respondida com 401 pelo TratadorDeErros
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public DadosTokenJWT renovar(String refreshToken) {
+        var atual = repository.buscarPorHash(Hash.sha256(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        if (atual.isRevogado()) {
+            // token já usado reapresentado: possivelmente roubado, então nenhum token da família vale mais
+            repository.revogarFamilia(atual.getFamilia(), LocalDateTime.now());
+            log.atWarn()
+                    .setMessage("refresh token reutilizado, família revogada")
+                    .addKeyValue("login", atual.getUsuario().getLogin())
+                    .log();
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        if (atual.isExpirado()) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+
+        atual.revogar();
+        return emitir(atual.getUsuario(), atual.getFamilia());
+    }
+
+    @Transactional
+    public void revogar(String refreshToken) {
+        repository.buscarPorHash(Hash.sha256(refreshToken))
+                .ifPresent(token -> repository.revogarFamilia(token.getFamilia(), LocalDateTime.now()));
+    }
+
+    // Mantém tokens vencidos por um dia, para ainda detectar reuso logo após a expiração
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void excluirExpirados() {
+        repository.excluirExpiradosAntesDe(LocalDateTime.now().minusDays(1));
+    }
+
+    private DadosTokenJWT emitir(Usuario usuario, String familia) {
+        var bytes = new byte[32];
+        ALEATORIO.nextBytes(bytes);
+        var refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        repository.save(new RefreshToken(usuario, Hash.sha256(refreshToken), familia, LocalDateTime.now().plus(validade)));
+        return new DadosTokenJWT(tokenService.gerarToken(usuario), refreshToken);
+    }
+}
@@ -1,6 +1,8 @@
 package med.voll.api.infra.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,7 +30,10 @@ public class SecurityConfigurations {
                  .sessionManagement()
                  .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                  .and().authorizeHttpRequests()
-                 .requestMatchers(HttpMethod.POST, "/login").permitAll()
+                 // o dispatch assíncrono (ex.: /consultas/export) continua uma requisição já autorizada
+                 .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                 .requestMatchers(HttpMethod.POST, "/login", "/login/refresh").permitAll()
+                 .requestMatchers(HttpMethod.DELETE, "/login/refresh").permitAll()
                  .requestMatchers("/v3/api-docs/**","/swagger-ui.html","/swagger-ui/*").permitAll()
                  .anyRequest().authenticated()
                  .and().addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
@@ -65,8 +70,9 @@ public class SecurityConfigurations {
         return configuration.getAuthenticationManager();
     }
 
+    // Ao aumentar a força, as senhas antigas são regravadas no próximo login (AutenticacaoService.updatePassword)
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.bcrypt.forca:10}") int forca){
+        return new BCryptPasswordEncoder(forca);
     }
 }
@@ -5,7 +5,10 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import med.voll.api.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,40 +16,68 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityFilter.class);
+
     @Autowired
     private TokenService tokenService;
     
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private CacheDeAutenticacao cacheDeAutenticacao;
+
+    // Registra 1 a cada N autenticações em INFO; em DEBUG todas são registradas
+    @Value("${api.log.amostragem.autenticacao:100}")
+    private int amostragemDeLog;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain filterChain
     ) throws ServletException, IOException {
         // filterChain - cadeia de filtros
-        System.out.println("FILTRO CHAMADO");
 
         String tokenJWT = recuperarToken(request);
         if(tokenJWT != null){
-            String subject = tokenService.getSubject(tokenJWT);
-            System.out.println(subject);
+            var usuario = cacheDeAutenticacao.buscar(tokenJWT);
+            var origem = "cache";
+            if (usuario == null) {
+                origem = "token";
+                var tokenVerificado = tokenService.verificar(tokenJWT);
+                String subject = tokenVerificado.getSubject();
 
-            var usuario = usuarioRepository.findByLogin(subject);
+                usuario = usuarioRepository.findByLogin(subject);
+                if (usuario != null) {
+                    cacheDeAutenticacao.guardar(tokenJWT, usuario, tokenVerificado.getExpiresAtAsInstant());
+                }
+            }
 
             UsernamePasswordAuthenticationToken authetication =
                     new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authetication);
-            System.out.println("LOGADO NA REQUISIÇAO");
+            registrarAutenticacao(request, usuario, origem);
         }
         //System.out.println(tokenJWT);
         // se essa linha não for executado ele trava e não segue adiante
         filterChain.doFilter(request, response);
     }
 
+    private void registrarAutenticacao(HttpServletRequest request, UserDetails usuario, String origem) {
+        var amostrado = amostragemDeLog <= 1 || ThreadLocalRandom.current().nextInt(amostragemDeLog) == 0;
+        var evento = amostrado ? log.atInfo() : log.atDebug();
+        evento.setMessage("requisição autenticada")
+                .addKeyValue("login", usuario::getUsername)
+                .addKeyValue("origem", origem)
+                .addKeyValue("metodo", request::getMethod)
+                .addKeyValue("uri", request::getRequestURI)
+                .log();
+    }
+
     private String recuperarToken(HttpServletRequest request) {
         String authorizationHeader = request.getHeader("Authorization");
         if(authorizationHeader != null){
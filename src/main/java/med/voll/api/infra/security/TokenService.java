@@ -1,31 +1,99 @@
 package med.voll.api.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import med.voll.api.domain.usuario.Usuario;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "API Voll.med";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    // Identificador (kid) da chave atual, gravado no cabeçalho dos tokens emitidos
+    @Value("${api.security.token.kid:1}")
+    private String kid = "1";
+
+    // Chaves anteriores ainda aceitas na verificação durante a rotação, no formato kid:secret separados por vírgula
+    @Value("${api.security.token.chaves-anteriores:}")
+    private String chavesAnteriores = "";
+
+    // Curto: a renovação é feita com o refresh token, sem reenviar a senha
+    @Value("${api.security.token.validade:15m}")
+    private Duration validade = Duration.ofMinutes(15);
+
+    private final MeterRegistry meterRegistry;
+
+    private Algorithm algorithm;
+    private final Map<String, JWTVerifier> verificadoresPorKid = new HashMap<>();
+    private JWTVerifier verificadorSemKid;
+    private Timer verificacaoValida;
+    private Timer verificacaoInvalida;
+
+    public TokenService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Algorithm e JWTVerifier são thread-safe, então são criados uma única vez, um verificador por chave
+    @PostConstruct
+    public void inicializar() {
+        algorithm = Algorithm.HMAC256(secret);
+        verificadoresPorKid.put(kid, criarVerificador(algorithm));
+        for (var chave : chavesAnteriores.split(",")) {
+            if (chave.isBlank()) {
+                continue;
+            }
+            var partes = chave.trim().split(":", 2);
+            if (partes.length != 2) {
+                throw new IllegalStateException("api.security.token.chaves-anteriores deve usar o formato kid:secret");
+            }
+            // um kid repetido trocaria o verificador da chave atual pelo da antiga e invalidaria todo token novo
+            if (verificadoresPorKid.putIfAbsent(partes[0], criarVerificador(Algorithm.HMAC256(partes[1]))) != null) {
+                throw new IllegalStateException("kid repetido em api.security.token.chaves-anteriores: " + partes[0]);
+            }
+        }
+        // tokens emitidos antes da rotação por kid não têm o cabeçalho e foram assinados com a chave atual
+        verificadorSemKid = verificadoresPorKid.get(kid);
+        verificacaoValida = timerDeVerificacao("valido");
+        verificacaoInvalida = timerDeVerificacao("invalido");
+    }
+
+    private JWTVerifier criarVerificador(Algorithm algoritmo) {
+        return JWT.require(algoritmo)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
+    private Timer timerDeVerificacao(String resultado) {
+        return Timer.builder("api.token.verificacao")
+                .description("Tempo de verificação do token JWT")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
     public String gerarToken(Usuario usuario){
         //System.out.println("Secret: "+secret);
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT
                     .create()
-                    .withIssuer("API Voll.med")
+                    .withKeyId(kid)
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getLogin())
                     .withClaim("id", usuario.getId())// pode ter vários
                     .withExpiresAt(dataExpiracao())
@@ -36,20 +104,36 @@ public class TokenService {
     }
 
     public String getSubject(String tokenJWT){
+        return verificar(tokenJWT).getSubject();
+    }
+
+    /*
+     * Decodifica uma única vez e descarta tokens malformados, expirados ou de chave desconhecida
+     * antes de calcular o HMAC, que é a parte cara; só então verifica a assinatura com a chave do kid.
+     */
+    public DecodedJWT verificar(String tokenJWT){
+        var amostra = Timer.start();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("API Voll.med")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            var token = JWT.decode(tokenJWT);
+            var expiracao = token.getExpiresAtAsInstant();
+            if (expiracao == null || !expiracao.isAfter(Instant.now())) {
+                throw new JWTVerificationException("Token expirado");
+            }
+            var verificador = token.getKeyId() == null ? verificadorSemKid : verificadoresPorKid.get(token.getKeyId());
+            if (verificador == null) {
+                throw new JWTVerificationException("Chave do token desconhecida");
+            }
+            verificador.verify(token);
+            amostra.stop(verificacaoValida);
+            return token;
         } catch (JWTVerificationException e){
-            throw new RuntimeException("Token JWT inválido ou expirado!");
+            amostra.stop(verificacaoInvalida);
+            throw new RuntimeException("Token JWT inválido ou expirado!", e);
         }
     }
 
     private Instant dataExpiracao() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(validade);
     }
 
 }
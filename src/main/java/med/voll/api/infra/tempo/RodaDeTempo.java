@@ -0,0 +1,153 @@
+package med.voll.api.infra.tempo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Roda de tempo hierárquica: NIVEIS níveis de 64 posições, em que cada posição do nível n cobre
+ * 64^n ticks. Agendar e cancelar são O(1) (lista duplamente encadeada por posição + mapa por
+ * chave); ao avançar, quando um nível completa a volta os itens da posição seguinte do nível de
+ * cima descem para os níveis de baixo, até vencerem no nível 0.
+ * Não é thread-safe: quem usa deve sincronizar.
+ */
+public class RodaDeTempo<K, V> {
+
+    static final int BITS_POR_NIVEL = 6;
+    static final int POSICOES = 1 << BITS_POR_NIVEL;
+    static final int NIVEIS = 4;
+    private static final int MASCARA = POSICOES - 1;
+
+    private final long tickEmMillis;
+    private final No<K, V>[][] posicoes;
+    private final Map<K, No<K, V>> porChave = new HashMap<>();
+    private long tickAtual;
+
+    @SuppressWarnings("unchecked")
+    public RodaDeTempo(long tickEmMillis, long inicioEmMillis) {
+        this.tickEmMillis = tickEmMillis;
+        this.posicoes = new No[NIVEIS][POSICOES];
+        this.tickAtual = inicioEmMillis / tickEmMillis;
+    }
+
+    // Último instante aceito por agendar; além dele o item deve ser agendado mais tarde
+    public long horizonteEmMillis() {
+        return (tickAtual + (1L << (BITS_POR_NIVEL * NIVEIS)) - 1) * tickEmMillis;
+    }
+
+    /*
+     * Agenda (ou reagenda) o valor da chave. Instantes já passados vencem no próximo tick.
+     * Retorna false se o instante estiver além do horizonte.
+     */
+    public boolean agendar(K chave, long quandoEmMillis, V valor) {
+        var prazo = Math.max(Math.floorDiv(quandoEmMillis, tickEmMillis), tickAtual + 1);
+        if (prazo - tickAtual >= 1L << (BITS_POR_NIVEL * NIVEIS)) {
+            return false;
+        }
+        cancelar(chave);
+        var no = new No<>(chave, valor, prazo);
+        porChave.put(chave, no);
+        inserir(no);
+        return true;
+    }
+
+    public boolean cancelar(K chave) {
+        var no = porChave.remove(chave);
+        if (no == null) {
+            return false;
+        }
+        remover(no);
+        return true;
+    }
+
+    public boolean contem(K chave) {
+        return porChave.containsKey(chave);
+    }
+
+    public int tamanho() {
+        return porChave.size();
+    }
+
+    // Avança até o instante informado e devolve, em ordem de vencimento, os valores vencidos
+    public List<V> avancar(long agoraEmMillis) {
+        var alvo = Math.floorDiv(agoraEmMillis, tickEmMillis);
+        var vencidos = new ArrayList<V>();
+        while (tickAtual < alvo) {
+            tickAtual++;
+            descer();
+            var no = posicoes[0][(int) (tickAtual & MASCARA)];
+            while (no != null) {
+                var proximo = no.proximo;
+                remover(no);
+                porChave.remove(no.chave);
+                vencidos.add(no.valor);
+                no = proximo;
+            }
+        }
+        return vencidos;
+    }
+
+    // A cada volta completa de um nível, redistribui a posição correspondente do nível acima
+    private void descer() {
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            if ((tickAtual & ((1L << (BITS_POR_NIVEL * nivel)) - 1)) != 0) {
+                return;
+            }
+            var posicao = (int) ((tickAtual >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+            var no = posicoes[nivel][posicao];
+            while (no != null) {
+                var proximo = no.proximo;
+                remover(no);
+                inserir(no);
+                no = proximo;
+            }
+        }
+    }
+
+    private void inserir(No<K, V> no) {
+        var distancia = no.prazo - tickAtual;
+        var nivel = 0;
+        while (nivel < NIVEIS - 1 && distancia >= 1L << (BITS_POR_NIVEL * (nivel + 1))) {
+            nivel++;
+        }
+        var posicao = (int) ((no.prazo >>> (BITS_POR_NIVEL * nivel)) & MASCARA);
+        no.nivel = nivel;
+        no.posicao = posicao;
+        no.anterior = null;
+        no.proximo = posicoes[nivel][posicao];
+        if (no.proximo != null) {
+            no.proximo.anterior = no;
+        }
+        posicoes[nivel][posicao] = no;
+    }
+
+    private void remover(No<K, V> no) {
+        if (no.anterior != null) {
+            no.anterior.proximo = no.proximo;
+        } else {
+            posicoes[no.nivel][no.posicao] = no.proximo;
+        }
+        if (no.proximo != null) {
+            no.proximo.anterior = no.anterior;
+        }
+        no.anterior = null;
+        no.proximo = null;
+    }
+
+    private static final class No<K, V> {
+        private final K chave;
+        private final V valor;
+        private final long prazo;
+        private int nivel;
+        private int posicao;
+        private No<K, V> anterior;
+        private No<K, V> proximo;
+
+        private No(K chave, V valor, long prazo) {
+            this.chave = chave;
+            this.valor = valor;
+            this.prazo = prazo;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package med.voll.api.infra.threads;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Com api.threads.virtuais=true cada requisição do Tomcat roda em uma thread virtual.
+ * O projeto compila com Java 17, então o executor é obtido por reflexão e exige rodar em Java 21+.
+ * O trabalho JPA/JDBC roda na própria thread da requisição, então também passa a ser virtual;
+ * o limite real de concorrência no banco continua sendo spring.datasource.hikari.maximum-pool-size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.threads.virtuais", havingValue = "true")
+public class ThreadsVirtuaisConfigurations {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> executorDeThreadsVirtuais() {
+        var executor = criarExecutorDeThreadsVirtuais();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static ExecutorService criarExecutorDeThreadsVirtuais() {
+        try {
+            var metodo = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) metodo.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("api.threads.virtuais=true exige Java 21 ou superior (JVM atual: "
+                    + Runtime.version() + ")", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package med.voll.api.infra.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ * Junta os itens adicionados durante a transação corrente e os entrega de uma vez antes do
+ * commit, ainda dentro dela (ex.: um único insert em lote no lugar de um por item).
+ * Sem transação, cada item é entregue na hora.
+ */
+public class AcumuladorTransacional<T> {
+
+    private final Consumer<List<T>> descarga;
+
+    public AcumuladorTransacional(Consumer<List<T>> descarga) {
+        this.descarga = descarga;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void adicionar(T item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            descarga.accept(List.of(item));
+            return;
+        }
+        var itens = (List<T>) TransactionSynchronizationManager.getResource(this);
+        if (itens == null) {
+            var novos = new ArrayList<T>();
+            TransactionSynchronizationManager.bindResource(this, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!novos.isEmpty()) {
+                        descarga.accept(novos);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AcumuladorTransacional.this);
+                }
+            });
+            itens = novos;
+        }
+        itens.add(item);
+    }
+}
@@ -0,0 +1,25 @@
+package med.voll.api.infra.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class AposRollback {
+
+    private AposRollback() {
+    }
+
+    // Executa a ação se a transação corrente terminar sem commit; sem transação não há o que desfazer
+    public static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    acao.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package med.voll.api.repository;
+
+import med.voll.api.domain.consulta.DadosExportacaoConsulta;
+import med.voll.api.domain.consulta.HorarioOcupado;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ * Operações sobre consultas que não compensam passar pelo Hibernate. O id IDENTITY
+ * impede o Hibernate de agrupar inserts, então o lote é gravado direto via JDBC batch
+ * (com rewriteBatchedStatements, o driver do MySQL envia um único insert multi-valores).
+ */
+@Repository
+public class ConsultaJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<Long> inserirEmLote(List<HorarioOcupado> horarios) {
+        if (horarios.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) conexao -> {
+            var sql = "insert into consultas (medico_id, paciente_id, data) values (?, ?, ?)";
+            try (var statement = conexao.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (var horario : horarios) {
+                    statement.setLong(1, horario.idMedico());
+                    statement.setLong(2, horario.idPaciente());
+                    statement.setObject(3, horario.data());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                var ids = new ArrayList<Long>(horarios.size());
+                try (var chaves = statement.getGeneratedKeys()) {
+                    while (chaves.next()) {
+                        ids.add(chaves.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    /*
+     * Percorre as consultas do período (início inclusivo, fim exclusivo, ambos opcionais) em ordem
+     * de data. Com fetchSize = Integer.MIN_VALUE o driver do MySQL entrega as linhas uma a uma,
+     * sem carregar o resultado inteiro em memória; a conexão fica presa até o fim da leitura.
+     */
+    public void exportar(LocalDateTime inicio, LocalDateTime fim, Consumer<DadosExportacaoConsulta> destino) {
+        var sql = new StringBuilder("""
+                select c.id, c.data, c.motivo_cancelamento,
+                       m.id as id_medico, m.nome as nome_medico, m.crm, m.especialidade,
+                       p.id as id_paciente, p.nome as nome_paciente
+                from consultas c
+                join medicos m on m.id = c.medico_id
+                join pacientes p on p.id = c.paciente_id
+                where 1 = 1
+                """);
+        var parametros = new ArrayList<Object>();
+        if (inicio != null) {
+            sql.append(" and c.data >= ?");
+            parametros.add(inicio);
+        }
+        if (fim != null) {
+            sql.append(" and c.data < ?");
+            parametros.add(fim);
+        }
+        sql.append(" order by c.data, c.id");
+
+        jdbcTemplate.query(conexao -> {
+            var statement = conexao.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < parametros.size(); i++) {
+                statement.setObject(i + 1, parametros.get(i));
+            }
+            return statement;
+        }, linha -> {
+            destino.accept(new DadosExportacaoConsulta(
+                    linha.getLong("id"),
+                    linha.getObject("data", LocalDateTime.class),
+                    linha.getLong("id_medico"),
+                    linha.getString("nome_medico"),
+                    linha.getString("crm"),
+                    linha.getString("especialidade"),
+                    linha.getLong("id_paciente"),
+                    linha.getString("nome_paciente"),
+                    linha.getString("motivo_cancelamento")));
+        });
+    }
+}
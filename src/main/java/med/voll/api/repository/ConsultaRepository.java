@@ -1,22 +1,75 @@
 package med.voll.api.repository;
 
 import med.voll.api.domain.consulta.Consulta;
+import med.voll.api.domain.consulta.DadosListagemConsulta;
+import med.voll.api.domain.consulta.HorarioOcupado;
+import med.voll.api.domain.consulta.LembreteDeConsulta;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
 
-    boolean existsByMedicoIdAndData(Long idMedico, LocalDateTime data);
-
     Page<Consulta> findAll(Pageable pageable);
 
+    @Query("""
+            select new med.voll.api.domain.consulta.HorarioOcupado(c.medico.id, c.paciente.id, c.data)
+            from Consulta c
+            where
+            c.data >= :inicio
+            and
+            c.motivoCancelamento is null
+            """)
+    List<HorarioOcupado> buscarHorariosOcupadosAPartirDe(LocalDateTime inicio);
+
+    @Query("""
+            select new med.voll.api.domain.consulta.LembreteDeConsulta(c.id, c.medico.id, c.paciente.id, c.data)
+            from Consulta c
+            where
+            c.data > :inicio
+            and
+            c.data <= :fim
+            and
+            c.motivoCancelamento is null
+            """)
+    List<LembreteDeConsulta> buscarLembretesEntre(LocalDateTime inicio, LocalDateTime fim);
+
+    @Query("select c.id from Consulta c where c.id in :ids and c.motivoCancelamento is null")
+    List<Long> filtrarNaoCanceladas(Collection<Long> ids);
 
-    boolean existsByPacienteIdAndDataBetween(Long idPaciente
-            , LocalDateTime primeiroHorario, LocalDateTime ultimoHorario);
+    @Query(value = """
+            select new med.voll.api.domain.consulta.DadosListagemConsulta(c.id, m.nome, p.nome, c.data)
+            from Consulta c
+            join c.medico m
+            join c.paciente p
+            """,
+            countQuery = "select count(c) from Consulta c")
+    Page<DadosListagemConsulta> listar(Pageable pageable);
 
+    @Query("""
+            select new med.voll.api.domain.consulta.DadosListagemConsulta(c.id, m.nome, p.nome, c.data)
+            from Consulta c
+            join c.medico m
+            join c.paciente p
+            order by c.data, c.id
+            """)
+    List<DadosListagemConsulta> listarPrimeirasPorData(Pageable limite);
 
-    boolean existsByMedicoIdAndDataAndMotivoCancelamentoIsNull(Long idMedico, LocalDateTime data);
+    @Query("""
+            select new med.voll.api.domain.consulta.DadosListagemConsulta(c.id, m.nome, p.nome, c.data)
+            from Consulta c
+            join c.medico m
+            join c.paciente p
+            where
+            c.data >= :data
+            and
+            (c.data > :data or c.id > :id)
+            order by c.data, c.id
+            """)
+    List<DadosListagemConsulta> listarPorDataApos(LocalDateTime data, Long id, Pageable limite);
 }
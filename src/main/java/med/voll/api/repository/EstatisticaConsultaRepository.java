@@ -0,0 +1,108 @@
+package med.voll.api.repository;
+
+import med.voll.api.domain.consulta.IncrementoDeEstatistica;
+import med.voll.api.domain.consulta.enums.AgrupamentoEstatisticas;
+import med.voll.api.domain.medico.Especialidade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Contadores agregados de consultas (V16). Os incrementos somam sobre a linha existente com
+ * "on duplicate key update"; a reconciliação recalcula um dia por vez a partir de consultas.
+ */
+@Repository
+public class EstatisticaConsultaRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Os incrementos devem vir somados e ordenados por (dia, medico, situacao)
+    public void incrementarMedicos(List<IncrementoDeEstatistica> incrementos) {
+        if (incrementos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        insert into estatisticas_medicos_dia (dia, medico_id, situacao, quantidade) values (?, ?, ?, ?)
+                        on duplicate key update quantidade = quantidade + ?
+                        """,
+                incrementos, incrementos.size(), (statement, incremento) -> {
+                    statement.setObject(1, incremento.dia());
+                    statement.setLong(2, incremento.idMedico());
+                    statement.setString(3, incremento.situacao());
+                    statement.setInt(4, incremento.quantidade());
+                    statement.setInt(5, incremento.quantidade());
+                });
+    }
+
+    // Os incrementos devem vir somados e ordenados por (dia, especialidade, situacao); o idMedico é ignorado
+    public void incrementarEspecialidades(List<IncrementoDeEstatistica> incrementos) {
+        if (incrementos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        insert into estatisticas_especialidades_dia (dia, especialidade, situacao, quantidade) values (?, ?, ?, ?)
+                        on duplicate key update quantidade = quantidade + ?
+                        """,
+                incrementos, incrementos.size(), (statement, incremento) -> {
+                    statement.setObject(1, incremento.dia());
+                    statement.setString(2, incremento.especialidade().name());
+                    statement.setString(3, incremento.situacao());
+                    statement.setInt(4, incremento.quantidade());
+                    statement.setInt(5, incremento.quantidade());
+                });
+    }
+
+    // Entrega (grupo, situacao, quantidade) somados no período; lê só as linhas do período, nunca consultas
+    public void somar(AgrupamentoEstatisticas agrupamento, LocalDate de, LocalDate ate, RowCallbackHandler linha) {
+        var sql = switch (agrupamento) {
+            case DIA -> """
+                    select dia as grupo, situacao, sum(quantidade) as quantidade from estatisticas_especialidades_dia
+                    where dia between ? and ? group by dia, situacao order by dia
+                    """;
+            case ESPECIALIDADE -> """
+                    select especialidade as grupo, situacao, sum(quantidade) as quantidade from estatisticas_especialidades_dia
+                    where dia between ? and ? group by especialidade, situacao order by especialidade
+                    """;
+            case MEDICO -> """
+                    select medico_id as grupo, situacao, sum(quantidade) as quantidade from estatisticas_medicos_dia
+                    where dia between ? and ? group by medico_id, situacao order by medico_id
+                    """;
+        };
+        jdbcTemplate.query(sql, linha, de, ate);
+    }
+
+    // Select comum, sem travas: não espera nem segura as consultas que estão sendo agendadas
+    public List<IncrementoDeEstatistica> contar(LocalDate dia) {
+        var inicio = dia.atStartOfDay();
+        var fim = dia.plusDays(1).atStartOfDay();
+        return jdbcTemplate.query("""
+                        select c.medico_id, m.especialidade, c.situacao, count(*) as quantidade
+                        from (
+                            select medico_id, 'AGENDADA' as situacao from consultas
+                            where data >= ? and data < ?
+                            union all
+                            select medico_id, motivo_cancelamento from consultas
+                            where data >= ? and data < ? and motivo_cancelamento is not null
+                        ) c
+                        join medicos m on m.id = c.medico_id
+                        group by c.medico_id, m.especialidade, c.situacao
+                        """,
+                (linha, i) -> new IncrementoDeEstatistica(
+                        dia,
+                        linha.getLong("medico_id"),
+                        Especialidade.valueOf(linha.getString("especialidade")),
+                        linha.getString("situacao"),
+                        linha.getInt("quantidade")),
+                inicio, fim, inicio, fim);
+    }
+
+    public void excluir(LocalDate dia) {
+        jdbcTemplate.update("delete from estatisticas_medicos_dia where dia = ?", dia);
+        jdbcTemplate.update("delete from estatisticas_especialidades_dia where dia = ?", dia);
+    }
+}
@@ -0,0 +1,32 @@
+package med.voll.api.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Até onde um processamento em segundo plano já chegou, para retomar dali depois de reiniciar
+@Repository
+public class MarcaDeProcessamentoRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Optional<LocalDateTime> buscar(String nome) {
+        return jdbcTemplate.query("select posicao from marcas_de_processamento where nome = ?",
+                        (linha, i) -> linha.getTimestamp("posicao").toLocalDateTime(), nome)
+                .stream()
+                .findFirst();
+    }
+
+    public void atualizar(String nome, LocalDateTime posicao) {
+        jdbcTemplate.update("""
+                        insert into marcas_de_processamento (nome, posicao) values (?, ?)
+                        on duplicate key update posicao = greatest(posicao, values(posicao))
+                        """,
+                nome, Timestamp.valueOf(posicao));
+    }
+}
@@ -1,16 +1,45 @@
 package med.voll.api.repository;
 
+import jakarta.persistence.QueryHint;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.DadosListagemMedicoComVersao;
 import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.EspecialidadeDoMedico;
 import med.voll.api.domain.medico.Medico;
+import med.voll.api.infra.http.VersaoDoRegistro;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
 public interface MedicoRepository extends JpaRepository<Medico, Long> {
     Page<Medico> findAllByAtivoTrue(Pageable pageable);
 
+    @Query("""
+            select new med.voll.api.infra.http.VersaoDoRegistro(m.id, m.versao)
+            from Medico m
+            where m.ativo = true
+            """)
+    Page<VersaoDoRegistro> buscarVersoesDosAtivos(Pageable pageable);
+
+    // Sem count: o total vem de buscarVersoesDosAtivos, na mesma transação
+    @Query("""
+            select new med.voll.api.domain.medico.DadosListagemMedicoComVersao(m.id, m.nome, m.email, m.crm, m.especialidade, m.versao)
+            from Medico m
+            where m.ativo = true
+            """)
+    List<DadosListagemMedicoComVersao> listarAtivosComVersao(Pageable pageable);
+
+    @Query("""
+            select m.versao from Medico m where m.id = :id
+            """)
+    Long buscarVersao(Long id);
+
     /*@Query("""
             select m from Medico m
             where
@@ -44,6 +73,33 @@ public interface MedicoRepository extends JpaRepository<Medico, Long> {
     @Query("""
             select m.ativo from Medico m where m.id = :id
             """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Boolean findAtivoById(Long id);
 
+    @Query("""
+            select new med.voll.api.domain.medico.EspecialidadeDoMedico(m.id, m.especialidade)
+            from Medico m
+            where m.ativo = true
+            """)
+    List<EspecialidadeDoMedico> buscarEspecialidadesDosMedicosAtivos();
+
+    @Query("""
+            select new med.voll.api.domain.medico.DadosListagemMedico(m.id, m.nome, m.email, m.crm, m.especialidade)
+            from Medico m
+            where m.ativo = true
+            order by m.nome, m.id
+            """)
+    List<DadosListagemMedico> listarPrimeirosAtivosPorNome(Pageable limite);
+
+    @Query("""
+            select new med.voll.api.domain.medico.DadosListagemMedico(m.id, m.nome, m.email, m.crm, m.especialidade)
+            from Medico m
+            where
+            m.ativo = true
+            and
+            (m.nome > :nome or (m.nome = :nome and m.id > :id))
+            order by m.nome, m.id
+            """)
+    List<DadosListagemMedico> listarAtivosPorNomeApos(String nome, Long id, Pageable limite);
+
 }
\ No newline at end of file
@@ -4,16 +4,59 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import med.voll.api.domain.paciente.DadosListagemPaciente;
+import med.voll.api.domain.paciente.DadosListagemPacienteComVersao;
 import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.infra.http.VersaoDoRegistro;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.List;
 
 public interface PacienteRepository extends JpaRepository<Paciente, Long> {
 
     Page<Paciente> findAllByAtivoTrue(Pageable pageable);
 
+    @Query("""
+        select new med.voll.api.infra.http.VersaoDoRegistro(p.id, p.versao)
+        from Paciente p
+        where p.ativo = true
+    """)
+    Page<VersaoDoRegistro> buscarVersoesDosAtivos(Pageable pageable);
+
+    // Sem count: o total vem de buscarVersoesDosAtivos, na mesma transação
+    @Query("""
+        select new med.voll.api.domain.paciente.DadosListagemPacienteComVersao(p.id, p.nome, p.email, p.versao)
+        from Paciente p
+        where p.ativo = true
+    """)
+    List<DadosListagemPacienteComVersao> listarAtivosComVersao(Pageable pageable);
+
     @Query("""
         select p.ativo from Paciente p
         where p.id = :id
     """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean findAtivoById(Long id);
+
+    @Query("""
+        select new med.voll.api.domain.paciente.DadosListagemPaciente(p.id, p.nome, p.email)
+        from Paciente p
+        where p.ativo = true
+        order by p.nome, p.id
+    """)
+    List<DadosListagemPaciente> listarPrimeirosAtivosPorNome(Pageable limite);
+
+    @Query("""
+        select new med.voll.api.domain.paciente.DadosListagemPaciente(p.id, p.nome, p.email)
+        from Paciente p
+        where
+        p.ativo = true
+        and
+        (p.nome > :nome or (p.nome = :nome and p.id > :id))
+        order by p.nome, p.id
+    """)
+    List<DadosListagemPaciente> listarAtivosPorNomeApos(String nome, Long id, Pageable limite);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package med.voll.api.repository;
+
+import jakarta.persistence.LockModeType;
+import med.voll.api.domain.usuario.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Trava a linha para que duas renovações simultâneas com o mesmo token não rotacionem as duas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select r from RefreshToken r
+            join fetch r.usuario
+            where r.hash = :hash
+            """)
+    Optional<RefreshToken> buscarPorHash(String hash);
+
+    @Modifying
+    @Query("""
+            update RefreshToken r set r.revogadoEm = :agora
+            where r.familia = :familia and r.revogadoEm is null
+            """)
+    int revogarFamilia(String familia, LocalDateTime agora);
+
+    @Modifying
+    @Query("""
+            delete from RefreshToken r
+            where r.expiraEm < :limite
+            """)
+    int excluirExpiradosAntesDe(LocalDateTime limite);
+}
@@ -1,4 +1,4 @@
 package med.voll.api.security;
 
-public record DadosTokenJWT(String token) {
+public record DadosTokenJWT(String token, String refreshToken) {
 }
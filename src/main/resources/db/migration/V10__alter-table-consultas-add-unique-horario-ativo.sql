@@ -0,0 +1,8 @@
+-- MySQL não tem índice parcial: as colunas geradas ficam nulas nas consultas canceladas,
+-- e o índice único ignora nulos, então só as consultas ativas disputam o horário
+alter table consultas
+    add column medico_ativo bigint generated always as (if(motivo_cancelamento is null, medico_id, null)) stored,
+    add column dia_ativo date generated always as (if(motivo_cancelamento is null, date(data), null)) stored;
+
+create unique index uk_consultas_medico_data_ativa on consultas(medico_ativo, data);
+create unique index uk_consultas_paciente_dia_ativa on consultas(paciente_id, dia_ativo);
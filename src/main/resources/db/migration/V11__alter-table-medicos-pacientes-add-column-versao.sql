@@ -0,0 +1,2 @@
+alter table medicos add column versao bigint not null default 0;
+alter table pacientes add column versao bigint not null default 0;
@@ -0,0 +1,15 @@
+create table refresh_tokens(
+    id bigint not null auto_increment,
+    usuario_id bigint not null,
+    hash char(64) not null,
+    familia char(36) not null,
+    expira_em datetime not null,
+    revogado_em datetime,
+
+    primary key(id),
+    constraint fk_refresh_tokens_usuario_id foreign key(usuario_id) references usuarios(id)
+);
+
+create unique index uk_refresh_tokens_hash on refresh_tokens(hash);
+create index idx_refresh_tokens_familia on refresh_tokens(familia);
+create index idx_refresh_tokens_expira_em on refresh_tokens(expira_em);
@@ -0,0 +1,14 @@
+create table eventos_outbox(
+    id bigint not null auto_increment,
+    tipo varchar(100) not null,
+    payload text not null,
+    criado_em datetime(6) not null,
+    tentativas int not null default 0,
+    proxima_tentativa_em datetime(6) not null,
+    enviado_em datetime(6),
+
+    primary key(id)
+);
+
+-- O despachante busca os pendentes prontos para envio em ordem de id
+create index idx_eventos_outbox_pendentes on eventos_outbox(enviado_em, proxima_tentativa_em, id);
@@ -0,0 +1,6 @@
+create table marcas_de_processamento(
+    nome varchar(100) not null,
+    posicao datetime(6) not null,
+
+    primary key(nome)
+);
@@ -0,0 +1,33 @@
+-- Contadores por dia da consulta; situacao é AGENDADA (toda consulta marcada, mesmo se cancelada depois) ou o motivo do cancelamento
+create table estatisticas_medicos_dia(
+    dia date not null,
+    medico_id bigint not null,
+    situacao varchar(100) not null,
+    quantidade int not null,
+
+    primary key(dia, medico_id, situacao)
+);
+
+create table estatisticas_especialidades_dia(
+    dia date not null,
+    especialidade varchar(100) not null,
+    situacao varchar(100) not null,
+    quantidade int not null,
+
+    primary key(dia, especialidade, situacao)
+);
+
+insert into estatisticas_medicos_dia (dia, medico_id, situacao, quantidade)
+select dia, medico_id, situacao, count(*)
+from (
+    select date(data) as dia, medico_id, 'AGENDADA' as situacao from consultas
+    union all
+    select date(data), medico_id, motivo_cancelamento from consultas where motivo_cancelamento is not null
+) c
+group by dia, medico_id, situacao;
+
+insert into estatisticas_especialidades_dia (dia, especialidade, situacao, quantidade)
+select e.dia, m.especialidade, e.situacao, sum(e.quantidade)
+from estatisticas_medicos_dia e
+join medicos m on m.id = e.medico_id
+group by e.dia, m.especialidade, e.situacao;
@@ -0,0 +1,5 @@
+-- Eventos que esgotaram as tentativas saem da fila de pendentes, mas continuam na tabela para análise
+alter table eventos_outbox add column descartado_em datetime(6);
+
+drop index idx_eventos_outbox_pendentes on eventos_outbox;
+create index idx_eventos_outbox_pendentes on eventos_outbox(enviado_em, descartado_em, proxima_tentativa_em, id);
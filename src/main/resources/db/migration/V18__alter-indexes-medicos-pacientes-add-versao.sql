@@ -0,0 +1,6 @@
+-- Cobre a query de versões das listagens (id e versao lidos só do índice); o id explícito mantém a ordem por (nome, id) do cursor
+drop index idx_medicos_ativo_nome on medicos;
+create index idx_medicos_ativo_nome on medicos(ativo, nome, id, versao);
+
+drop index idx_pacientes_ativo_nome on pacientes;
+create index idx_pacientes_ativo_nome on pacientes(ativo, nome, id, versao);
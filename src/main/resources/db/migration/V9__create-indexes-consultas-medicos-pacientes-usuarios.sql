@@ -0,0 +1,9 @@
+create index idx_consultas_medico_data_motivo on consultas(medico_id, data, motivo_cancelamento);
+create index idx_consultas_paciente_data on consultas(paciente_id, data);
+create index idx_consultas_data on consultas(data);
+
+create index idx_medicos_ativo_especialidade on medicos(ativo, especialidade);
+create index idx_medicos_ativo_nome on medicos(ativo, nome);
+create index idx_pacientes_ativo_nome on pacientes(ativo, nome);
+
+create index idx_usuarios_login on usuarios(login);
@@ -0,0 +1,64 @@
+package med.voll.api.controller;
+
+import med.voll.api.domain.usuario.DadosRefreshToken;
+import med.voll.api.infra.security.GerenciadorDeRefreshTokens;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJsonTesters;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureJsonTesters
+class AutenticacaoControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JacksonTester<DadosRefreshToken> dadosRefreshTokenJson;
+
+    @MockBean
+    private GerenciadorDeRefreshTokens gerenciadorDeRefreshTokens;
+
+    @Test
+    @DisplayName("Deveria revogar o refresh token e devolver 204 no logout, sem exigir access token")
+    void revogarCenario1() throws Exception {
+        var response = mvc.perform(
+                        delete("/login/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(dadosRefreshTokenJson.write(new DadosRefreshToken("refresh-token")).getJson())
+                )
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        verify(gerenciadorDeRefreshTokens).revogar("refresh-token");
+    }
+
+    @Test
+    @DisplayName("Deveria devolver 400 no logout sem refresh token")
+    void revogarCenario2() throws Exception {
+        var response = mvc.perform(
+                        delete("/login/refresh")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(dadosRefreshTokenJson.write(new DadosRefreshToken("")).getJson())
+                )
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        verify(gerenciadorDeRefreshTokens, never()).revogar(any());
+    }
+}
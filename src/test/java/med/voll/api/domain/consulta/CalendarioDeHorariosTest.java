@@ -0,0 +1,52 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.consulta.enums.MotivoCancelamento;
+import med.voll.api.domain.medico.Especialidade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarioDeHorariosTest {
+
+    private static final LocalDate SEGUNDA = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    private static final int BIT_DAS_10 = 1 << 3;
+
+    @Test
+    @DisplayName("Deveria manter a hora ocupada enquanto houver alguma consulta ativa nela")
+    void horasLivresCenario1() {
+        var calendario = new CalendarioDeHorarios();
+        var as10 = new ConsultaAgendada(1L, 1L, 1L, SEGUNDA.atTime(10, 0), Especialidade.CARDIOLOGIA);
+        var as1030 = new ConsultaAgendada(2L, 1L, 2L, SEGUNDA.atTime(10, 30), Especialidade.CARDIOLOGIA);
+        calendario.aoAgendar(as10);
+        calendario.aoAgendar(as1030);
+
+        calendario.aoCancelar(cancelada(as10));
+        assertThat(calendario.horasLivres(1L, SEGUNDA) & BIT_DAS_10).isZero();
+
+        calendario.aoCancelar(cancelada(as1030));
+        assertThat(calendario.horasLivres(1L, SEGUNDA) & BIT_DAS_10).isEqualTo(BIT_DAS_10);
+    }
+
+    @Test
+    @DisplayName("Deveria ocupar só a hora do médico agendado e nenhuma hora aos domingos")
+    void horasLivresCenario2() {
+        var calendario = new CalendarioDeHorarios();
+        calendario.aoAgendar(new ConsultaAgendada(1L, 1L, 1L, SEGUNDA.atTime(10, 0), Especialidade.CARDIOLOGIA));
+
+        var todasAsHoras = (1 << CalendarioDeHorarios.HORAS_POR_DIA) - 1;
+        assertThat(calendario.horasLivres(1L, SEGUNDA)).isEqualTo(todasAsHoras & ~BIT_DAS_10);
+        assertThat(calendario.horasLivres(2L, SEGUNDA)).isEqualTo(todasAsHoras);
+        assertThat(calendario.horasLivres(1L, SEGUNDA.minusDays(1))).isZero();
+        assertThat(CalendarioDeHorarios.horario(SEGUNDA, 3)).isEqualTo(SEGUNDA.atTime(10, 0));
+    }
+
+    private static ConsultaCancelada cancelada(ConsultaAgendada agendada) {
+        return new ConsultaCancelada(agendada.idConsulta(), agendada.idMedico(), agendada.idPaciente(),
+                agendada.data(), MotivoCancelamento.PACIENTE_DESISTIU, agendada.especialidade());
+    }
+}
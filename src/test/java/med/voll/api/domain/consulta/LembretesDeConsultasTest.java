@@ -0,0 +1,170 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.repository.ConsultaRepository;
+import med.voll.api.repository.MarcaDeProcessamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LembretesDeConsultasTest {
+
+    private static final Duration ANTECEDENCIA = Duration.ofHours(24);
+    private static final Duration JANELA = Duration.ofHours(1);
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    @Mock
+    private MarcaDeProcessamentoRepository marcas;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private LembretesDeConsultas lembretes;
+
+    private LocalDateTime agora;
+
+    @BeforeEach
+    void configurar() {
+        ReflectionTestUtils.setField(lembretes, "antecedencia", ANTECEDENCIA);
+        ReflectionTestUtils.setField(lembretes, "janela", JANELA);
+        agora = LocalDateTime.now();
+    }
+
+    @Test
+    @DisplayName("Deveria retomar a carga a partir da marca persistida e continuar de onde a janela anterior parou")
+    void carregarProximaJanelaCenario1() {
+        var marca = agora.minusMinutes(10);
+        when(marcas.buscar(LembretesDeConsultas.MARCA)).thenReturn(Optional.of(marca));
+
+        lembretes.iniciar();
+        lembretes.carregarProximaJanela(agora.plusMinutes(30));
+
+        var inicio = ArgumentCaptor.forClass(LocalDateTime.class);
+        var fim = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(consultaRepository, times(2)).buscarLembretesEntre(inicio.capture(), fim.capture());
+        assertThat(inicio.getAllValues().get(0)).isEqualTo(marca.plus(ANTECEDENCIA));
+        assertThat(fim.getAllValues().get(0)).isCloseTo(agora.plus(JANELA).plus(ANTECEDENCIA), within(5, ChronoUnit.SECONDS));
+        assertThat(inicio.getAllValues().get(1)).isEqualTo(fim.getAllValues().get(0));
+        assertThat(fim.getAllValues().get(1)).isEqualTo(agora.plusMinutes(30).plus(JANELA).plus(ANTECEDENCIA));
+    }
+
+    @Test
+    @DisplayName("Deveria ignorar lembretes de consultas que já passaram depois de muito tempo parado")
+    void carregarProximaJanelaCenario2() {
+        when(marcas.buscar(LembretesDeConsultas.MARCA)).thenReturn(Optional.of(agora.minusHours(30)));
+
+        lembretes.iniciar();
+
+        var inicio = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(consultaRepository).buscarLembretesEntre(inicio.capture(), any());
+        assertThat(inicio.getValue()).isCloseTo(agora, within(5, ChronoUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Deveria enviar só os lembretes vencidos de consultas não canceladas e avançar a marca")
+    void enviarVencidosCenario1() {
+        var ativa = lembrete(1L, agora.plus(ANTECEDENCIA).plusSeconds(5));
+        var canceladaNaCarga = lembrete(2L, agora.plus(ANTECEDENCIA).plusSeconds(5));
+        when(consultaRepository.buscarLembretesEntre(any(), any())).thenReturn(List.of(ativa, canceladaNaCarga));
+        when(consultaRepository.filtrarNaoCanceladas(anyCollection())).thenReturn(List.of(1L));
+        executarTransacoes();
+        lembretes.iniciar();
+
+        lembretes.enviarVencidos(agora.plusSeconds(1));
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+
+        lembretes.enviarVencidos(agora.plusSeconds(10));
+        verify(publisher).publishEvent(ativa);
+        verify(publisher, never()).publishEvent(canceladaNaCarga);
+        verify(marcas).atualizar(LembretesDeConsultas.MARCA, agora.plusSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Deveria tentar de novo no próximo tick quando o envio falha, sem avançar a marca")
+    void enviarVencidosCenario2() {
+        var lembrete = lembrete(1L, agora.plus(ANTECEDENCIA).plusSeconds(5));
+        when(consultaRepository.buscarLembretesEntre(any(), any())).thenReturn(List.of(lembrete));
+        when(consultaRepository.filtrarNaoCanceladas(anyCollection())).thenReturn(List.of(1L));
+        doThrow(new QueryTimeoutException("banco indisponível"))
+                .doAnswer(invocacao -> {
+                    invocacao.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                    return null;
+                })
+                .when(transactionTemplate).executeWithoutResult(any());
+        lembretes.iniciar();
+
+        lembretes.enviarVencidos(agora.plusSeconds(10));
+        verify(publisher, never()).publishEvent(any(Object.class));
+
+        lembretes.enviarVencidos(agora.plusSeconds(12));
+        verify(publisher).publishEvent(lembrete);
+        verify(marcas).atualizar(LembretesDeConsultas.MARCA, agora.plusSeconds(12));
+    }
+
+    @Test
+    @DisplayName("Deveria incluir agendamentos dentro da janela carregada, deixar os de fora para a carga e tirar os cancelados")
+    void aoAgendarCenario1() {
+        when(consultaRepository.filtrarNaoCanceladas(anyCollection()))
+                .thenAnswer(invocacao -> List.copyOf(invocacao.<Collection<Long>>getArgument(0)));
+        executarTransacoes();
+        lembretes.iniciar();
+
+        lembretes.aoAgendar(new ConsultaAgendada(1L, 1L, 1L, agora.plus(ANTECEDENCIA).plusSeconds(10), Especialidade.CARDIOLOGIA));
+        lembretes.aoAgendar(new ConsultaAgendada(2L, 1L, 2L, agora.plus(ANTECEDENCIA).plusHours(2), Especialidade.CARDIOLOGIA));
+        var cancelada = new ConsultaAgendada(3L, 2L, 3L, agora.plus(ANTECEDENCIA).plusSeconds(20), Especialidade.CARDIOLOGIA);
+        lembretes.aoAgendar(cancelada);
+        lembretes.aoCancelar(new ConsultaCancelada(3L, 2L, 3L, cancelada.data(), null, cancelada.especialidade()));
+
+        lembretes.enviarVencidos(agora.plusHours(3));
+
+        verify(publisher).publishEvent(lembrete(1L, agora.plus(ANTECEDENCIA).plusSeconds(10)));
+        verify(publisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    private void executarTransacoes() {
+        doAnswer(invocacao -> {
+            invocacao.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static LembreteDeConsulta lembrete(Long idConsulta, LocalDateTime data) {
+        return new LembreteDeConsulta(idConsulta, 1L, idConsulta, data);
+    }
+}
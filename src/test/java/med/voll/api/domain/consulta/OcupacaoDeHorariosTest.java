@@ -0,0 +1,74 @@
+package med.voll.api.domain.consulta;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OcupacaoDeHorariosTest {
+
+    private static final int THREADS = 64;
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    @Test
+    @DisplayName("Deveria aceitar uma única reserva quando muitas threads disputam o mesmo médico e horário")
+    void reservarCenario1() throws Exception {
+        var ocupacao = new OcupacaoDeHorarios();
+
+        var reservadas = disputar(idPaciente -> new HorarioOcupado(1L, idPaciente, HORARIO), ocupacao);
+
+        assertThat(reservadas).isEqualTo(1);
+        assertThat(ocupacao.medicosOcupados(HORARIO)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deveria aceitar uma única reserva quando muitas threads agendam o mesmo paciente no mesmo dia")
+    void reservarCenario2() throws Exception {
+        var ocupacao = new OcupacaoDeHorarios();
+
+        var reservadas = disputar(idMedico -> new HorarioOcupado(idMedico, 1L, HORARIO.plusHours(idMedico % 8)), ocupacao);
+
+        assertThat(reservadas).isEqualTo(1);
+        assertThat(ocupacao.pacienteOcupadoNoDia(1L, HORARIO.toLocalDate())).isTrue();
+        // quem perdeu a disputa pelo paciente não pode deixar o médico preso
+        var medicosOcupados = 0;
+        for (int hora = 0; hora < 8; hora++) {
+            medicosOcupados += ocupacao.medicosOcupados(HORARIO.plusHours(hora)).size();
+        }
+        assertThat(medicosOcupados).isEqualTo(1);
+    }
+
+    private int disputar(LongFunction<HorarioOcupado> horarioDaThread, OcupacaoDeHorarios ocupacao) throws Exception {
+        var largada = new CountDownLatch(1);
+        var tarefas = new ArrayList<Callable<Boolean>>();
+        for (long i = 1; i <= THREADS; i++) {
+            var horario = horarioDaThread.apply(i);
+            tarefas.add(() -> {
+                largada.await();
+                return ocupacao.reservar(horario);
+            });
+        }
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var resultados = tarefas.stream().map(executor::submit).toList();
+            largada.countDown();
+            var reservadas = 0;
+            for (var resultado : resultados) {
+                if (resultado.get()) {
+                    reservadas++;
+                }
+            }
+            return reservadas;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package med.voll.api.domain.consulta.validacoes.cancelamento;
+
+import med.voll.api.domain.consulta.Consulta;
+import med.voll.api.domain.consulta.DadosCancelamentoConsulta;
+import med.voll.api.domain.consulta.enums.MotivoCancelamento;
+import med.voll.api.domain.exception.ValidacaoException;
+import med.voll.api.repository.ConsultaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ValidadorConsultaJaCanceladaTest {
+
+    @Mock
+    private ConsultaRepository repository;
+
+    @InjectMocks
+    private ValidadorConsultaJaCancelada validador;
+
+    @Test
+    @DisplayName("Deveria recusar o cancelamento de uma consulta já cancelada")
+    void validarCenario1() {
+        var consulta = new Consulta(1L, null, null, LocalDateTime.now().plusDays(2), MotivoCancelamento.OUTROS);
+        when(repository.getReferenceById(1L)).thenReturn(consulta);
+
+        assertThatThrownBy(() -> validador.validar(new DadosCancelamentoConsulta(1L, MotivoCancelamento.PACIENTE_DESISTIU)))
+                .isInstanceOf(ValidacaoException.class);
+    }
+
+    @Test
+    @DisplayName("Deveria aceitar o cancelamento de uma consulta ativa")
+    void validarCenario2() {
+        var consulta = new Consulta(1L, null, null, LocalDateTime.now().plusDays(2), null);
+        when(repository.getReferenceById(1L)).thenReturn(consulta);
+
+        assertThatCode(() -> validador.validar(new DadosCancelamentoConsulta(1L, MotivoCancelamento.PACIENTE_DESISTIU)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Deveria manter o primeiro motivo quando a consulta é cancelada duas vezes")
+    void cancelarCenario1() {
+        var consulta = new Consulta(1L, null, null, LocalDateTime.now().plusDays(2), null);
+        consulta.cancelar(MotivoCancelamento.MEDICO_CANCELOU);
+
+        assertThatThrownBy(() -> consulta.cancelar(MotivoCancelamento.OUTROS)).isInstanceOf(ValidacaoException.class);
+        assertThat(consulta.getMotivoCancelamento()).isEqualTo(MotivoCancelamento.MEDICO_CANCELOU);
+    }
+}
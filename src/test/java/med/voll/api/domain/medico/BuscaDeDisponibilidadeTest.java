@@ -0,0 +1,63 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.domain.consulta.CalendarioDeHorarios;
+import med.voll.api.domain.consulta.ConsultaAgendada;
+import med.voll.api.domain.exception.ValidacaoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BuscaDeDisponibilidadeTest {
+
+    private static final LocalDate SEGUNDA = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    private final SeletorDeMedicoLivre seletor = new SeletorDeMedicoLivre();
+    private final CalendarioDeHorarios calendario = new CalendarioDeHorarios();
+    private final BuscaDeDisponibilidade busca = new BuscaDeDisponibilidade();
+
+    @BeforeEach
+    void montar() {
+        ReflectionTestUtils.setField(busca, "seletorDeMedicoLivre", seletor);
+        ReflectionTestUtils.setField(busca, "calendarioDeHorarios", calendario);
+    }
+
+    @Test
+    @DisplayName("Deveria listar as horas livres de cada médico ativo da especialidade, sem as ocupadas e sem o domingo")
+    void buscarCenario1() {
+        seletor.adicionar(1L, Especialidade.CARDIOLOGIA);
+        seletor.adicionar(2L, Especialidade.CARDIOLOGIA);
+        seletor.adicionar(3L, Especialidade.ORTOPEDIA);
+        for (int hora = 7; hora <= 18; hora++) {
+            calendario.aoAgendar(new ConsultaAgendada((long) hora, 2L, (long) hora, SEGUNDA.atTime(hora, 0), Especialidade.CARDIOLOGIA));
+        }
+        calendario.aoAgendar(new ConsultaAgendada(100L, 1L, 100L, SEGUNDA.atTime(10, 0), Especialidade.CARDIOLOGIA));
+
+        var disponibilidade = busca.buscar(Especialidade.CARDIOLOGIA, SEGUNDA.minusDays(1), SEGUNDA);
+
+        assertThat(disponibilidade).hasSize(1);
+        var doMedico1 = disponibilidade.get(0);
+        assertThat(doMedico1.idMedico()).isEqualTo(1L);
+        assertThat(doMedico1.horarios())
+                .hasSize(CalendarioDeHorarios.HORAS_POR_DIA - 1)
+                .allMatch(horario -> horario.toLocalDate().equals(SEGUNDA))
+                .doesNotContain(SEGUNDA.atTime(10, 0))
+                .contains(SEGUNDA.atTime(7, 0), SEGUNDA.atTime(18, 0));
+    }
+
+    @Test
+    @DisplayName("Deveria recusar período invertido ou maior que o máximo")
+    void buscarCenario2() {
+        assertThatThrownBy(() -> busca.buscar(Especialidade.CARDIOLOGIA, SEGUNDA, SEGUNDA.minusDays(1)))
+                .isInstanceOf(ValidacaoException.class);
+        assertThatThrownBy(() -> busca.buscar(Especialidade.CARDIOLOGIA, SEGUNDA, SEGUNDA.plusDays(BuscaDeDisponibilidade.MAXIMO_DE_DIAS)))
+                .isInstanceOf(ValidacaoException.class);
+    }
+}
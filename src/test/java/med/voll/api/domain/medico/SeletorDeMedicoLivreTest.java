@@ -0,0 +1,47 @@
+package med.voll.api.domain.medico;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SeletorDeMedicoLivreTest {
+
+    @Test
+    @DisplayName("Deveria sortear apenas médicos livres, com a mesma chance para cada um")
+    void sortearCenario1() {
+        var seletor = new SeletorDeMedicoLivre();
+        for (long id = 1; id <= 4; id++) {
+            seletor.adicionar(id, Especialidade.CARDIOLOGIA);
+        }
+        var ocupados = Set.of(2L);
+
+        Map<Long, Integer> sorteios = new HashMap<>();
+        var total = 30_000;
+        for (int i = 0; i < total; i++) {
+            sorteios.merge(seletor.sortear(Especialidade.CARDIOLOGIA, ocupados), 1, Integer::sum);
+        }
+
+        assertThat(sorteios).containsOnlyKeys(1L, 3L, 4L);
+        sorteios.values().forEach(quantidade ->
+                assertThat(quantidade / (double) total).isCloseTo(1 / 3.0, within(0.02)));
+    }
+
+    @Test
+    @DisplayName("Deveria devolver null quando todos os médicos da especialidade estão ocupados ou excluídos")
+    void sortearCenario2() {
+        var seletor = new SeletorDeMedicoLivre();
+        seletor.adicionar(1L, Especialidade.CARDIOLOGIA);
+        seletor.adicionar(2L, Especialidade.CARDIOLOGIA);
+        seletor.adicionar(3L, Especialidade.ORTOPEDIA);
+        seletor.remover(2L, Especialidade.CARDIOLOGIA);
+
+        assertThat(seletor.sortear(Especialidade.CARDIOLOGIA, Set.of(1L))).isNull();
+        assertThat(seletor.sortear(Especialidade.DERMATOLOGIA, Set.<Long>of())).isNull();
+    }
+}
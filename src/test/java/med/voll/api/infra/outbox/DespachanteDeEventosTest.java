@@ -0,0 +1,112 @@
+package med.voll.api.infra.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DespachanteDeEventosTest {
+
+    @Mock
+    private OutboxJdbcRepository repository;
+
+    @Mock
+    private DestinoDeEventos destino;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DespachanteDeEventos despachante;
+
+    private final EventoOutbox primeiro = evento(1L, 0);
+    private final EventoOutbox recusado = evento(2L, 9);
+    private final EventoOutbox terceiro = evento(3L, 0);
+    private final List<EventoOutbox> lote = List.of(primeiro, recusado, terceiro);
+
+    @BeforeEach
+    void configurar() {
+        ReflectionTestUtils.setField(despachante, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(despachante, "tamanhoDoLote", 500);
+        ReflectionTestUtils.setField(despachante, "lotesPorCiclo", 20);
+        ReflectionTestUtils.setField(despachante, "esperaInicial", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(despachante, "esperaMaxima", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(despachante, "maximoDeTentativas", 10);
+        despachante.registrarMetricas();
+
+        doAnswer(invocacao -> invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        when(repository.travarPendentes(anyInt())).thenReturn(lote);
+    }
+
+    @Test
+    @DisplayName("Deveria adiar o lote inteiro sem contar tentativa quando nem o primeiro evento sozinho é aceito")
+    void despacharCenario1() throws Exception {
+        doThrow(new IOException("destino fora")).when(destino).enviar(anyList());
+
+        despachante.despachar();
+
+        verify(destino).enviar(lote);
+        verify(destino).enviar(List.of(primeiro));
+        verify(destino, never()).enviar(List.of(recusado));
+        verify(repository).adiar(any(), any());
+        verify(repository, never()).reagendar(anyList(), any());
+        verify(repository, never()).descartar(anyList());
+        verify(repository, never()).marcarEnviados(anyList());
+    }
+
+    @Test
+    @DisplayName("Deveria descartar só o evento que falha sozinho enquanto os outros do lote passam")
+    void despacharCenario2() throws Exception {
+        doThrow(new IOException("lote recusado")).when(destino).enviar(lote);
+        doThrow(new IOException("evento recusado")).when(destino).enviar(List.of(recusado));
+
+        despachante.despachar();
+
+        verify(repository).marcarEnviados(List.of(primeiro, terceiro));
+        verify(repository).descartar(List.of(recusado));
+        verify(repository).reagendar(eq(List.of()), any());
+        verify(repository, never()).adiar(any(), any());
+        verify(repository, times(1)).travarPendentes(anyInt());
+    }
+
+    @Test
+    @DisplayName("Deveria marcar o lote como enviado quando o destino aceita o lote inteiro")
+    void despacharCenario3() throws Exception {
+        doNothing().when(destino).enviar(lote);
+
+        despachante.despachar();
+
+        verify(repository).marcarEnviados(lote);
+        verify(destino, times(1)).enviar(anyList());
+    }
+
+    private static EventoOutbox evento(Long id, int tentativas) {
+        return new EventoOutbox(id, "ConsultaAgendada", "{}", LocalDateTime.now(), tentativas);
+    }
+}
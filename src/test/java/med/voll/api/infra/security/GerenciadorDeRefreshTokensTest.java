@@ -0,0 +1,112 @@
+package med.voll.api.infra.security;
+
+import med.voll.api.domain.usuario.RefreshToken;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GerenciadorDeRefreshTokensTest {
+
+    private static final String TOKEN = "refresh-token-atual";
+    private static final String FAMILIA = "familia-1";
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private GerenciadorDeRefreshTokens gerenciador;
+
+    private final Usuario usuario = new Usuario(1L, "ana@voll.med", "senha");
+
+    @BeforeEach
+    void configurar() {
+        ReflectionTestUtils.setField(gerenciador, "validade", Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("Deveria revogar o token usado e emitir outro da mesma família na renovação")
+    void renovarCenario1() {
+        var atual = token(LocalDateTime.now().plusDays(1), null);
+        when(repository.buscarPorHash(Hash.sha256(TOKEN))).thenReturn(Optional.of(atual));
+        when(tokenService.gerarToken(usuario)).thenReturn("access-token");
+
+        var renovado = gerenciador.renovar(TOKEN);
+
+        assertThat(atual.isRevogado()).isTrue();
+        assertThat(renovado.token()).isEqualTo("access-token");
+        assertThat(renovado.refreshToken()).isNotBlank().isNotEqualTo(TOKEN);
+        var novo = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(novo.capture());
+        assertThat(novo.getValue().getFamilia()).isEqualTo(FAMILIA);
+        assertThat(novo.getValue().getHash()).isEqualTo(Hash.sha256(renovado.refreshToken()));
+        assertThat(novo.getValue().isRevogado()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deveria revogar a família inteira quando um token já usado é reapresentado")
+    void renovarCenario2() {
+        var usado = token(LocalDateTime.now().plusDays(1), LocalDateTime.now().minusMinutes(5));
+        when(repository.buscarPorHash(Hash.sha256(TOKEN))).thenReturn(Optional.of(usado));
+
+        assertThatThrownBy(() -> gerenciador.renovar(TOKEN)).isInstanceOf(BadCredentialsException.class);
+
+        verify(repository).revogarFamilia(eq(FAMILIA), any());
+        verify(repository, never()).save(any());
+        verify(tokenService, never()).gerarToken(any());
+    }
+
+    @Test
+    @DisplayName("Deveria recusar token expirado ou desconhecido sem emitir outro")
+    void renovarCenario3() {
+        var expirado = token(LocalDateTime.now().minusMinutes(1), null);
+        when(repository.buscarPorHash(Hash.sha256(TOKEN))).thenReturn(Optional.of(expirado));
+        when(repository.buscarPorHash(Hash.sha256("desconhecido"))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> gerenciador.renovar(TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> gerenciador.renovar("desconhecido")).isInstanceOf(BadCredentialsException.class);
+
+        assertThat(expirado.isRevogado()).isFalse();
+        verify(repository, never()).revogarFamilia(anyString(), any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deveria revogar a família do token no logout")
+    void revogarCenario1() {
+        when(repository.buscarPorHash(Hash.sha256(TOKEN))).thenReturn(Optional.of(token(LocalDateTime.now().plusDays(1), null)));
+
+        gerenciador.revogar(TOKEN);
+
+        verify(repository).revogarFamilia(eq(FAMILIA), any());
+    }
+
+    private RefreshToken token(LocalDateTime expiraEm, LocalDateTime revogadoEm) {
+        return new RefreshToken(10L, usuario, Hash.sha256(TOKEN), FAMILIA, expiraEm, revogadoEm);
+    }
+}
@@ -0,0 +1,87 @@
+package med.voll.api.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import med.voll.api.domain.usuario.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "segredo-atual";
+    private static final String SECRET_ANTERIOR = "segredo-anterior";
+
+    private final Usuario usuario = new Usuario(1L, "ana@voll.med", "senha");
+
+    @Test
+    @DisplayName("Deveria aceitar tokens da chave atual e de uma chave anterior ainda listada")
+    void verificarCenario1() {
+        var tokenAntigo = tokenService("0", SECRET_ANTERIOR, "").gerarToken(usuario);
+        var servico = tokenService("1", SECRET, "0:" + SECRET_ANTERIOR);
+
+        assertThat(servico.getSubject(tokenAntigo)).isEqualTo("ana@voll.med");
+        assertThat(servico.getSubject(servico.gerarToken(usuario))).isEqualTo("ana@voll.med");
+    }
+
+    @Test
+    @DisplayName("Deveria recusar token de kid desconhecido, mesmo que assinado com o secret atual")
+    void verificarCenario2() {
+        var tokenOutroKid = tokenService("9", SECRET, "").gerarToken(usuario);
+        var servico = tokenService("1", SECRET, "0:" + SECRET_ANTERIOR);
+
+        assertThatThrownBy(() -> servico.verificar(tokenOutroKid)).hasRootCauseMessage("Chave do token desconhecida");
+    }
+
+    @Test
+    @DisplayName("Deveria aceitar token sem kid, emitido antes da rotação, com a chave atual")
+    void verificarCenario3() {
+        var tokenSemKid = JWT.create()
+                .withIssuer("API Voll.med")
+                .withSubject("ana@voll.med")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+        var servico = tokenService("1", SECRET, "0:" + SECRET_ANTERIOR);
+
+        assertThat(servico.getSubject(tokenSemKid)).isEqualTo("ana@voll.med");
+    }
+
+    @Test
+    @DisplayName("Deveria recusar token expirado antes de verificar a assinatura")
+    void verificarCenario4() {
+        // assinatura inválida: se a verificação do HMAC rodasse, a causa seria outra
+        var tokenExpirado = JWT.create()
+                .withKeyId("1")
+                .withIssuer("API Voll.med")
+                .withSubject("ana@voll.med")
+                .withExpiresAt(Instant.now().minusSeconds(1))
+                .sign(Algorithm.HMAC256("outro-segredo"));
+        var servico = tokenService("1", SECRET, "");
+
+        assertThatThrownBy(() -> servico.verificar(tokenExpirado)).hasRootCauseMessage("Token expirado");
+    }
+
+    @Test
+    @DisplayName("Deveria falhar ao subir quando uma chave anterior repete o kid atual")
+    void inicializarCenario1() {
+        assertThatThrownBy(() -> tokenService("1", SECRET, "1:" + SECRET_ANTERIOR)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> tokenService("1", SECRET, "0:a,0:b")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private TokenService tokenService(String kid, String secret, String chavesAnteriores) {
+        var servico = new TokenService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(servico, "secret", secret);
+        ReflectionTestUtils.setField(servico, "kid", kid);
+        ReflectionTestUtils.setField(servico, "chavesAnteriores", chavesAnteriores);
+        ReflectionTestUtils.setField(servico, "validade", Duration.ofMinutes(15));
+        servico.inicializar();
+        return servico;
+    }
+}
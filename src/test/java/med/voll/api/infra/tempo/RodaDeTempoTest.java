@@ -0,0 +1,74 @@
+package med.voll.api.infra.tempo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RodaDeTempoTest {
+
+    private static final long TICK = 1000;
+    private static final long INICIO = 1_700_000_123_000L;
+
+    @Test
+    @DisplayName("Deveria vencer cada item exatamente no seu tick, em qualquer nível da roda")
+    void avancarCenario1() {
+        var roda = new RodaDeTempo<Long, Long>(TICK, INICIO);
+        var aleatorio = new Random(42);
+        var esperado = new TreeMap<Long, Long>();
+        for (long chave = 0; chave < 5_000; chave++) {
+            // distâncias de 1 tick até perto do horizonte, passando por todos os níveis
+            var distancia = 1 + (long) (Math.pow(aleatorio.nextDouble(), 4) * ((1L << 24) - 2));
+            var prazo = INICIO + distancia * TICK;
+            roda.agendar(chave, prazo, prazo);
+            esperado.put(chave, prazo);
+        }
+
+        var vencidos = new ArrayList<Long>();
+        var agora = INICIO;
+        while (roda.tamanho() > 0) {
+            agora += TICK * (1 + aleatorio.nextInt(5_000));
+            for (var prazo : roda.avancar(agora)) {
+                assertThat(prazo).isLessThanOrEqualTo(agora).isGreaterThan(agora - 5_000 * TICK);
+                vencidos.add(prazo);
+            }
+        }
+
+        assertThat(vencidos).isSorted().containsExactlyInAnyOrderElementsOf(esperado.values());
+    }
+
+    @Test
+    @DisplayName("Deveria não vencer itens cancelados e considerar apenas o último agendamento da chave")
+    void avancarCenario2() {
+        var roda = new RodaDeTempo<String, String>(TICK, INICIO);
+        roda.agendar("cancelada", INICIO + 10 * TICK, "cancelada");
+        roda.agendar("reagendada", INICIO + 5_000 * TICK, "antes");
+        roda.agendar("reagendada", INICIO + 20 * TICK, "depois");
+        roda.agendar("mantida", INICIO + 100 * TICK, "mantida");
+
+        assertThat(roda.cancelar("cancelada")).isTrue();
+        assertThat(roda.cancelar("cancelada")).isFalse();
+        assertThat(roda.avancar(INICIO + 19 * TICK)).isEmpty();
+        assertThat(roda.avancar(INICIO + 20 * TICK)).containsExactly("depois");
+        assertThat(roda.avancar(INICIO + 10_000 * TICK)).containsExactly("mantida");
+        assertThat(roda.tamanho()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deveria vencer no próximo tick o que já passou e recusar o que está além do horizonte")
+    void agendarCenario1() {
+        var roda = new RodaDeTempo<Integer, Integer>(TICK, INICIO);
+
+        assertThat(roda.agendar(1, INICIO - 60 * TICK, 1)).isTrue();
+        assertThat(roda.agendar(2, roda.horizonteEmMillis(), 2)).isTrue();
+        assertThat(roda.agendar(3, roda.horizonteEmMillis() + TICK, 3)).isFalse();
+
+        assertThat(roda.avancar(INICIO + TICK)).containsExactly(1);
+        assertThat(roda.contem(2)).isTrue();
+        assertThat(roda.contem(3)).isFalse();
+    }
+}